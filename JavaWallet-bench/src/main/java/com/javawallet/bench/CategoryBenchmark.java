@@ -0,0 +1,65 @@
+package com.javawallet.bench;
+
+import com.javawallet.domain.model.Category;
+import com.javawallet.domain.model.CategoryRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CategoryBenchmark {
+    @Param({"4", "8"})
+    public int depth;
+
+    @Param({"4"})
+    public int fanout;
+
+    private Category root;
+    private Category leaf;
+    private CategoryRegistry registry;
+    private UUID rootId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        root = Fixtures.tree(depth, fanout);
+        leaf = Fixtures.deepestLeaf(root);
+        registry = CategoryRegistry.of(List.of(root));
+        rootId = root.getId();
+    }
+
+    @Benchmark
+    public boolean addAndRemoveSubcategory() {
+        UUID id = root.addSubcategory("transient");
+        return root.removeSubcategory(id, "transient");
+    }
+
+    @Benchmark
+    public boolean isUnderByParentWalk() {
+        for (Category c = leaf; c != null; c = c.getParent()) {
+            if (c.getId().equals(rootId)) return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean isUnderByRegistry() {
+        return registry.isUnder(leaf.getId(), rootId);
+    }
+
+    @Benchmark
+    public int descendants() {
+        return registry.descendants(rootId).size();
+    }
+
+    @Benchmark
+    public CategoryRegistry buildRegistry() {
+        return CategoryRegistry.of(List.of(root));
+    }
+}
@@ -0,0 +1,56 @@
+package com.javawallet.bench;
+
+import com.javawallet.application.command.CommandInvoker;
+import com.javawallet.application.command.CreateTransactionCommand;
+import com.javawallet.domain.factory.WalletFactory;
+import com.javawallet.domain.model.*;
+import com.javawallet.infrastructure.persistence.memory.InMemoryWalletRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommandInvokerBenchmark {
+    @Param({"0", "10000"})
+    public int historySize;
+
+    private CommandInvoker invoker;
+    private UUID walletId;
+    private CreateTransactionCommand command;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        InMemoryWalletRepository repository = new InMemoryWalletRepository();
+        Wallet wallet = new WalletFactory().restore(UUID.randomUUID(), "bench", WalletType.CHECKINGACCOUNT, Money.zero(Fixtures.CURRENCY), Collections.emptyList());
+        repository.upsertWallet(wallet);
+        walletId = wallet.getId();
+        invoker = new CommandInvoker();
+        for (Transaction t : Fixtures.history(historySize, null, 11)) {
+            invoker.execute(new CreateTransactionCommand(walletId, t, repository));
+        }
+        Transaction t = new TransactionBuilder(Money.ofMinor(100, Fixtures.CURRENCY), TransactionType.DEPOSIT).build();
+        command = new CreateTransactionCommand(walletId, t, repository);
+    }
+
+    // Leaves the histories as it found them: execute clears the redo entry left by the final undo.
+    @Benchmark
+    public void executeUndoRedoUndo() {
+        invoker.execute(command);
+        invoker.undo(walletId);
+        invoker.redo(walletId);
+        invoker.undo(walletId);
+    }
+
+    @Benchmark
+    public void executeGlobalUndo() {
+        invoker.execute(command);
+        invoker.undo();
+    }
+}
@@ -0,0 +1,48 @@
+package com.javawallet.bench;
+
+import com.javawallet.application.command.CommandInvoker;
+import com.javawallet.application.manager.FinanceManager;
+import com.javawallet.domain.factory.WalletFactory;
+import com.javawallet.domain.model.*;
+import com.javawallet.domain.visitor.ReportCLI;
+import com.javawallet.infrastructure.persistence.IPersistenceContext;
+import com.javawallet.infrastructure.persistence.memory.InMemoryWalletRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FinanceManagerBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int historySize;
+
+    private FinanceManager financeManager;
+    private UUID walletId;
+    private UUID[] transactionIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        InMemoryWalletRepository repository = new InMemoryWalletRepository();
+        financeManager = new FinanceManager(new WalletFactory(), new ReportCLI(), new CommandInvoker(), new IPersistenceContext(repository, null));
+        List<Transaction> history = Fixtures.history(historySize, null, 7);
+        Wallet wallet = new WalletFactory().restore(UUID.randomUUID(), "bench", WalletType.CHECKINGACCOUNT, Fixtures.total(history), history);
+        repository.upsertWallet(wallet);
+        walletId = wallet.getId();
+        transactionIds = history.stream().map(Transaction::getId).toArray(UUID[]::new);
+    }
+
+    @Benchmark
+    public Transaction getTransaction() {
+        UUID id = transactionIds[next];
+        if (++next == transactionIds.length) next = 0;
+        return financeManager.getTransaction(walletId, id);
+    }
+}
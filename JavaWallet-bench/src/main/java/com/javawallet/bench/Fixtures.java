@@ -0,0 +1,60 @@
+package com.javawallet.bench;
+
+import com.javawallet.domain.model.Category;
+import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.TransactionBuilder;
+import com.javawallet.domain.model.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class Fixtures {
+    static final String CURRENCY = "EUR";
+    static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private Fixtures() {}
+
+    // Deposits spread over one transaction per hour, so the resulting balance is always positive.
+    static List<Transaction> history(int size, Category category, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            transactions.add(new TransactionBuilder(Money.ofMinor(1 + random.nextInt(100_000), CURRENCY), TransactionType.DEPOSIT)
+                    .withCategory(category)
+                    .withDate(START.plusHours(i))
+                    .withNote("history " + i)
+                    .build());
+        }
+        return transactions;
+    }
+
+    static Money total(List<Transaction> transactions) {
+        long units = 0;
+        for (Transaction t : transactions) units += t.getMoney().getMinorUnits();
+        return Money.ofMinor(units, CURRENCY);
+    }
+
+    static Category tree(int depth, int fanout) {
+        Category root = new Category("root");
+        grow(root, depth - 1, fanout);
+        return root;
+    }
+
+    static Category deepestLeaf(Category root) {
+        Category c = root;
+        while (!c.getChildren().isEmpty()) c = c.getChildren().iterator().next();
+        return c;
+    }
+
+    private static void grow(Category parent, int depth, int fanout) {
+        if (depth <= 0) return;
+        for (int i = 0; i < fanout; i++) {
+            Category child = new Category(parent.getName() + "." + i);
+            parent.addSubcategory(child);
+            grow(child, depth - 1, fanout);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.javawallet.bench;
+
+import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.MoneyAccumulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Arithmetic goes through the public MoneyAccumulator, which shares Money's minor-unit fast path and
+// BigDecimal fallback; WalletBenchmark covers the balance updates made by Wallet itself.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+    @Param({"minor", "big"})
+    public String representation;
+
+    private Money a;
+    private Money b;
+
+    @Setup
+    public void setup() {
+        if (representation.equals("minor")) {
+            a = Money.ofMinor(123_456_789L, "EUR");
+            b = Money.ofMinor(98_765L, "EUR");
+        } else {
+            a = Money.of(new BigDecimal("123456789012345678901234.56"), "EUR");
+            b = Money.of(new BigDecimal("987.65"), "EUR");
+        }
+    }
+
+    @Benchmark
+    public Money add() {
+        return new MoneyAccumulator(a.getCurrencyCode()).add(a).add(b).toMoney();
+    }
+
+    @Benchmark
+    public Money subtract() {
+        return new MoneyAccumulator(a.getCurrencyCode()).add(a).subtract(b).toMoney();
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return a.compareTo(b);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return a.hashCode();
+    }
+
+    @Benchmark
+    public BigDecimal getAmount() {
+        return a.getAmount();
+    }
+}
@@ -0,0 +1,64 @@
+package com.javawallet.bench;
+
+import com.javawallet.domain.model.Category;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.Wallet;
+import com.javawallet.domain.model.WalletType;
+import com.javawallet.domain.factory.WalletFactory;
+import com.javawallet.domain.visitor.ReportCLI;
+import com.javawallet.domain.visitor.ReportCSV;
+import com.javawallet.domain.visitor.ReportJSON;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReportBenchmark {
+    @Param({"1000", "100000"})
+    public int historySize;
+
+    private Wallet wallet;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Transaction> history = Fixtures.history(historySize, new Category("bench"), 3);
+        wallet = new WalletFactory().restore(UUID.randomUUID(), "bench", WalletType.CHECKINGACCOUNT, Fixtures.total(history), history);
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public void cli() {
+        wallet.accept(new ReportCLI());
+    }
+
+    @Benchmark
+    public void csv() {
+        ReportCSV report = new ReportCSV(Writer.nullWriter());
+        wallet.accept(report);
+        report.flush();
+    }
+
+    @Benchmark
+    public void json() {
+        ReportJSON report = new ReportJSON(Writer.nullWriter());
+        wallet.accept(report);
+        report.flush();
+    }
+}
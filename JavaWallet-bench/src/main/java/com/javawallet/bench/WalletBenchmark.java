@@ -0,0 +1,60 @@
+package com.javawallet.bench;
+
+import com.javawallet.domain.model.*;
+import com.javawallet.domain.strategy.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WalletBenchmark {
+    @Param({"1000", "100000"})
+    public int historySize;
+
+    @Param({"NONE", "NEGATIVE_BALANCE", "MAX_WITHDRAW", "DAILY_LIMIT", "ROLLING_WINDOW", "CATEGORY_BUDGET"})
+    public String rule;
+
+    private Wallet wallet;
+    private Transaction withdrawal;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Category category = new Category("groceries");
+        List<Transaction> history = Fixtures.history(historySize, category, 42);
+        wallet = new Wallet(UUID.randomUUID(), "bench", WalletType.DEBITCARD, Fixtures.total(history), RuleSet.of(ruleFor(category)), history);
+        wallet.restoreRuleState();
+        withdrawal = new TransactionBuilder(Money.ofMinor(100, Fixtures.CURRENCY), TransactionType.WITHDRAWAL)
+                .withCategory(category)
+                .withDate(Fixtures.START.plusHours(historySize))
+                .build();
+    }
+
+    private IRuleStrategy[] ruleFor(Category category) {
+        Money limit = Money.ofMinor(Long.MAX_VALUE / 4, Fixtures.CURRENCY);
+        return switch (rule) {
+            case "NONE" -> new IRuleStrategy[0];
+            case "NEGATIVE_BALANCE" -> new IRuleStrategy[]{new NegativeBalanceNotAllowed()};
+            case "MAX_WITHDRAW" -> new IRuleStrategy[]{new MaxWithdraw(new BigDecimal("1000000"))};
+            case "DAILY_LIMIT" -> new IRuleStrategy[]{new DailySpendingLimit(limit)};
+            case "ROLLING_WINDOW" -> new IRuleStrategy[]{new RollingWindowSpendingLimit(limit, 30)};
+            case "CATEGORY_BUDGET" -> new IRuleStrategy[]{new CategoryBudget(category.getId(), limit, 30)};
+            default -> throw new IllegalArgumentException("Unknown rule " + rule);
+        };
+    }
+
+    // Add and roll back the same transaction so the history size stays fixed across invocations.
+    @Benchmark
+    public Money addAndRollback() {
+        wallet.addTransaction(withdrawal);
+        wallet.rollbackTransaction(withdrawal);
+        return wallet.getBalance();
+    }
+}
@@ -0,0 +1,249 @@
+package com.javawallet.bench.load;
+
+import com.javawallet.application.command.CommandInvoker;
+import com.javawallet.application.manager.FinanceManager;
+import com.javawallet.domain.factory.WalletFactory;
+import com.javawallet.domain.model.*;
+import com.javawallet.domain.visitor.ReportCLI;
+import com.javawallet.infrastructure.metrics.LatencyRecorder;
+import com.javawallet.infrastructure.persistence.IPersistenceContext;
+import com.javawallet.infrastructure.persistence.journal.JournalRepository;
+import com.javawallet.infrastructure.persistence.memory.InMemoryCategoryRepository;
+import com.javawallet.infrastructure.persistence.memory.InMemoryWalletRepository;
+
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Drives a mixed workload through FinanceManager from many threads and reports throughput and
+// latency percentiles per operation. Each worker records into its own recorders, so the atomics it
+// updates are uncontended; their snapshots are merged at the end.
+public class LoadGenerator {
+    private static final String CURRENCY = "EUR";
+    private static final int RECENT_PER_WALLET = 256;
+
+    private final Workload workload;
+    private final FinanceManager financeManager;
+    private final IPersistenceContext context;
+    private final List<Category> leaves = new ArrayList<>();
+    private final List<Slot> wallets = new ArrayList<>();
+    private final Operation[] schedule;
+
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+
+    LoadGenerator(Workload workload, IPersistenceContext context) {
+        this.workload = workload;
+        this.context = context;
+        this.financeManager = new FinanceManager(new WalletFactory(), new ReportCLI(), new CommandInvoker(), context);
+        this.schedule = schedule(workload.mix());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Workload workload;
+        try {
+            workload = Workload.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        Closeable store = null;
+        IPersistenceContext context;
+        if (workload.store().equals("memory")) {
+            context = new IPersistenceContext(new InMemoryWalletRepository(), new InMemoryCategoryRepository());
+        } else if (workload.store().startsWith("journal:")) {
+            JournalRepository journal = new JournalRepository(Path.of(workload.store().substring("journal:".length())), new WalletFactory());
+            context = new IPersistenceContext(journal, journal);
+            store = journal;
+        } else {
+            System.err.println("Unknown store '" + workload.store() + "'\n" + Workload.USAGE);
+            System.exit(2);
+            return;
+        }
+        try {
+            new LoadGenerator(workload, context).run().print(System.out);
+        } finally {
+            if (store != null) store.close();
+        }
+    }
+
+    Result run() throws InterruptedException {
+        populate();
+        Worker[] workers = new Worker[workload.threads()];
+        CountDownLatch done = new CountDownLatch(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            Worker worker = workers[i] = new Worker(new SplittableRandom(workload.seed() + i));
+            Thread thread = new Thread(() -> {
+                try {
+                    worker.loop();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        TimeUnit.MILLISECONDS.sleep(workload.warmup().toMillis());
+        measuring = true;
+        long start = System.nanoTime();
+        TimeUnit.MILLISECONDS.sleep(workload.duration().toMillis());
+        measuring = false;
+        long elapsed = System.nanoTime() - start;
+        stopped = true;
+        done.await();
+
+        Result result = new Result(elapsed, workload);
+        for (Worker w : workers) result.merge(w);
+        return result;
+    }
+
+    private void populate() {
+        for (int r = 0; r < workload.categoryRoots(); r++) {
+            Category root = new Category("root-" + r);
+            grow(root, workload.categoryDepth() - 1);
+            context.getCategoryRepository().save(root);
+        }
+        WalletType[] types = WalletType.values();
+        for (int i = 0; i < workload.wallets(); i++) {
+            Wallet w = financeManager.createWallet("wallet-" + i, types[i % types.length], Money.ofMinor(100_000, CURRENCY));
+            wallets.add(new Slot(w.getId()));
+        }
+    }
+
+    private void grow(Category parent, int depth) {
+        if (depth <= 0) {
+            leaves.add(parent);
+            return;
+        }
+        for (int i = 0; i < workload.categoryFanout(); i++) {
+            Category child = new Category(parent.getName() + "." + i);
+            parent.addSubcategory(child);
+            grow(child, depth - 1);
+        }
+    }
+
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) slots.add(op);
+        });
+        return slots.toArray(new Operation[0]);
+    }
+
+    private static final class Slot {
+        private final UUID walletId;
+        private final ConcurrentLinkedDeque<UUID> recent = new ConcurrentLinkedDeque<>();
+
+        private Slot(UUID walletId) {
+            this.walletId = walletId;
+        }
+
+        private void remember(Collection<Transaction> transactions) {
+            transactions.forEach(t -> recent.addLast(t.getId()));
+            while (recent.size() > RECENT_PER_WALLET) recent.pollFirst();
+        }
+    }
+
+    private final class Worker {
+        private final SplittableRandom random;
+        private final LatencyRecorder[] latencies = new LatencyRecorder[Operation.values().length];
+        private final long[] errors = new long[Operation.values().length];
+
+        private Worker(SplittableRandom random) {
+            this.random = random;
+            for (int i = 0; i < latencies.length; i++) latencies[i] = new LatencyRecorder();
+        }
+
+        private void loop() {
+            while (!stopped) {
+                Operation op = schedule[random.nextInt(schedule.length)];
+                Slot slot = wallets.get(random.nextInt(wallets.size()));
+                boolean record = measuring;
+                long start = System.nanoTime();
+                try {
+                    if (!perform(op, slot)) continue;
+                } catch (RuntimeException e) {
+                    if (record) errors[op.ordinal()]++;
+                }
+                if (record) latencies[op.ordinal()].record(System.nanoTime() - start);
+            }
+        }
+
+        // Returns false when the operation had nothing to act on and should not be counted.
+        private boolean perform(Operation op, Slot slot) {
+            switch (op) {
+                case DEPOSIT -> create(slot, TransactionType.DEPOSIT);
+                case WITHDRAWAL -> create(slot, TransactionType.WITHDRAWAL);
+                case TRANSFER -> {
+                    if (wallets.size() < 2) return false;
+                    Slot target = wallets.get(random.nextInt(wallets.size()));
+                    if (target == slot) return false;
+                    financeManager.transfer(slot.walletId, target.walletId, Money.ofMinor(1 + random.nextInt(5_000), CURRENCY));
+                }
+                case REMOVE -> {
+                    UUID id = slot.recent.pollLast();
+                    if (id == null) return false;
+                    financeManager.removeTransaction(slot.walletId, id);
+                }
+                case UNDO -> financeManager.undo(slot.walletId);
+                case REDO -> financeManager.redo(slot.walletId);
+                case READ -> {
+                    UUID id = slot.recent.peekLast();
+                    if (id == null) return false;
+                    financeManager.getTransaction(slot.walletId, id);
+                }
+            }
+            return true;
+        }
+
+        private void create(Slot slot, TransactionType type) {
+            TransactionBuilder builder = new TransactionBuilder(Money.ofMinor(1 + random.nextInt(5_000), CURRENCY), type)
+                    .withCategory(leaves.isEmpty() ? null : leaves.get(random.nextInt(leaves.size())))
+                    .withDate(LocalDateTime.now());
+            slot.remember(financeManager.createTransactions(slot.walletId, List.of(builder)));
+        }
+    }
+
+    static final class Result {
+        private final long elapsedNanos;
+        private final Workload workload;
+        private final LatencyRecorder.Snapshot[] latencies = new LatencyRecorder.Snapshot[Operation.values().length];
+        private final long[] errors = new long[Operation.values().length];
+
+        private Result(long elapsedNanos, Workload workload) {
+            this.elapsedNanos = elapsedNanos;
+            this.workload = workload;
+            LatencyRecorder.Snapshot empty = new LatencyRecorder().snapshot();
+            Arrays.fill(latencies, empty);
+        }
+
+        private void merge(Worker worker) {
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = latencies[i].merge(worker.latencies[i].snapshot());
+                errors[i] += worker.errors[i];
+            }
+        }
+
+        void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            long total = 0;
+            for (LatencyRecorder.Snapshot h : latencies) total += h.getCount();
+            out.printf("store=%s wallets=%d threads=%d measured=%.1fs%n", workload.store(), workload.wallets(), workload.threads(), seconds);
+            out.printf("total ops=%d throughput=%.0f ops/s%n%n", total, total / seconds);
+            out.printf("%-11s %10s %8s %10s %10s %10s %10s %10s %10s%n", "operation", "count", "errors", "ops/s", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us");
+            for (Operation op : Operation.values()) {
+                LatencyRecorder.Snapshot h = latencies[op.ordinal()];
+                if (h.getCount() == 0) continue;
+                out.printf("%-11s %10d %8d %10.0f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                        op.name().toLowerCase(), h.getCount(), errors[op.ordinal()], h.getCount() / seconds,
+                        h.percentile(50) / 1e3, h.percentile(90) / 1e3, h.percentile(99) / 1e3, h.percentile(99.9) / 1e3, h.getMax() / 1e3);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.javawallet.bench.load;
+
+enum Operation {
+    DEPOSIT,
+    WITHDRAWAL,
+    TRANSFER,
+    REMOVE,
+    UNDO,
+    REDO,
+    READ
+}
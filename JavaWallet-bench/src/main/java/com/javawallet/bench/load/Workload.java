@@ -0,0 +1,80 @@
+package com.javawallet.bench.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+record Workload(
+        int wallets,
+        int threads,
+        Duration warmup,
+        Duration duration,
+        int categoryRoots,
+        int categoryDepth,
+        int categoryFanout,
+        Map<Operation, Integer> mix,
+        String store,
+        long seed) {
+
+    static final String USAGE = String.join("\n",
+            "Options (all optional):",
+            "  --wallets=N            wallets to create, mixed over every WalletType (default 1000)",
+            "  --threads=N            worker threads (default: available processors)",
+            "  --warmup=SECONDS       unmeasured warm-up (default 5)",
+            "  --duration=SECONDS     measured run (default 30)",
+            "  --categories=R:D:F     category roots, depth and fan-out (default 4:4:4)",
+            "  --mix=OP:W,...         operation weights over deposit, withdrawal, transfer, remove, undo, redo, read",
+            "                         (default deposit:35,withdrawal:30,transfer:10,remove:10,undo:5,redo:5,read:5)",
+            "  --store=memory|journal:PATH   persistence context to drive (default memory)",
+            "  --seed=N               random seed (default 42)");
+
+    static Workload parse(String[] args) {
+        int wallets = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Duration warmup = Duration.ofSeconds(5);
+        Duration duration = Duration.ofSeconds(30);
+        int roots = 4;
+        int depth = 4;
+        int fanout = 4;
+        Map<Operation, Integer> mix = parseMix("deposit:35,withdrawal:30,transfer:10,remove:10,undo:5,redo:5,read:5");
+        String store = "memory";
+        long seed = 42;
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Unrecognised argument '" + arg + "'\n" + USAGE);
+            String key = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "wallets" -> wallets = Integer.parseInt(value);
+                case "threads" -> threads = Integer.parseInt(value);
+                case "warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                case "categories" -> {
+                    String[] parts = value.split(":");
+                    roots = Integer.parseInt(parts[0]);
+                    depth = Integer.parseInt(parts[1]);
+                    fanout = Integer.parseInt(parts[2]);
+                }
+                case "mix" -> mix = parseMix(value);
+                case "store" -> store = value;
+                case "seed" -> seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option '" + key + "'\n" + USAGE);
+            }
+        }
+        if (wallets < 1 || threads < 1) throw new IllegalArgumentException("wallets and threads must be positive");
+        return new Workload(wallets, threads, warmup, duration, roots, depth, fanout, mix, store, seed);
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) throw new IllegalArgumentException("Operation mix is empty");
+        return mix;
+    }
+}
@@ -1,32 +1,221 @@
 package com.javawallet.application.command;
 
-import com.javawallet.domain.model.*;
-
-import java.util.Stack;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class CommandInvoker {
-    private final Stack<ICommand> undoStack = new Stack<>();
-    private final Stack<ICommand> redoStack = new Stack<>();
+    private static final Object GLOBAL = new Object();
+
+    // A history is dropped once both its stacks are empty, so the map only holds histories that still
+    // have something to undo or redo.
+    private final Map<Object, History> histories = new ConcurrentHashMap<>();
+    // One entry per non-empty stack, keyed by the sequence on top of it, so the global undo() and redo()
+    // find the newest entry without scanning every history.
+    private final ConcurrentNavigableMap<Long, History> undoTops = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<Long, History> redoTops = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    // Sequence of the newest execute on any history. The global redo() ignores redo entries older than
+    // this, so executing anything discards global redo the way the single shared stack used to;
+    // redo(walletId) is unaffected and only cleared by executes on its own wallet.
+    private final AtomicLong lastExecuted = new AtomicLong();
+    private final LongAdder undoDepth = new LongAdder();
+    private final LongAdder redoDepth = new LongAdder();
+    private final ICommandListener listener;
+
+    public CommandInvoker() {
+        this(null);
+    }
+
+    public CommandInvoker(ICommandListener listener) {
+        this.listener = listener;
+    }
 
     public void execute(ICommand command) {
-        command.execute();
-        undoStack.push(command);
-        redoStack.clear();
+        History history = lock(command instanceof IWalletCommand wc ? wc.getWalletId() : GLOBAL);
+        try {
+            run(ICommandListener.Phase.EXECUTE, command);
+            long executed = sequence.incrementAndGet();
+            long undoTop = history.undoTop;
+            long redoTop = history.redoTop;
+            history.pushUndo(command, executed);
+            lastExecuted.accumulateAndGet(executed, Math::max);
+            undoDepth.increment();
+            redoDepth.add(-history.clearRedo());
+            moveTop(undoTops, history, undoTop, history.undoTop);
+            moveTop(redoTops, history, redoTop, history.redoTop);
+        } finally {
+            history.lock.unlock();
+        }
     }
 
-    public void undo() {
-        if (undoStack.isEmpty()) return;
+    // Commands currently undoable / redoable, summed over every history.
+    public long getUndoDepth() {
+        return undoDepth.sum();
+    }
+
+    public long getRedoDepth() {
+        return redoDepth.sum();
+    }
 
-        ICommand command = undoStack.pop();
-        command.undo();
-        redoStack.push(command);
+    public void undo() {
+        Map.Entry<Long, History> latest = undoTops.lastEntry();
+        if (latest != null) undo(latest.getValue());
     }
 
+    // Redo entries older than the newest execute anywhere are not offered globally.
     public void redo() {
-        if (redoStack.isEmpty()) return;
+        Map.Entry<Long, History> latest = redoTops.lastEntry();
+        if (latest != null && latest.getKey() > lastExecuted.get()) redo(latest.getValue());
+    }
+
+    public void undo(UUID walletId) {
+        undo(histories.get(walletId));
+    }
+
+    public void redo(UUID walletId) {
+        redo(histories.get(walletId));
+    }
+
+    private void undo(History history) {
+        if (history == null) return;
+        history.lock.lock();
+        try {
+            if (history.retired) return;
+            long undoTop = history.undoTop;
+            long redoTop = history.redoTop;
+            ICommand command = history.popUndo();
+            if (command == null) return;
+            undoDepth.decrement();
+            try {
+                run(ICommandListener.Phase.UNDO, command);
+                history.pushRedo(command, sequence.incrementAndGet());
+                redoDepth.increment();
+            } finally {
+                moveTop(undoTops, history, undoTop, history.undoTop);
+                moveTop(redoTops, history, redoTop, history.redoTop);
+                retireIfEmpty(history);
+            }
+        } finally {
+            history.lock.unlock();
+        }
+    }
 
-        ICommand command = redoStack.pop();
-        command.execute();
-        undoStack.push(command);
+    private void redo(History history) {
+        if (history == null) return;
+        history.lock.lock();
+        try {
+            if (history.retired) return;
+            long undoTop = history.undoTop;
+            long redoTop = history.redoTop;
+            ICommand command = history.popRedo();
+            if (command == null) return;
+            redoDepth.decrement();
+            try {
+                run(ICommandListener.Phase.REDO, command);
+                history.pushUndo(command, sequence.incrementAndGet());
+                undoDepth.increment();
+            } finally {
+                moveTop(undoTops, history, undoTop, history.undoTop);
+                moveTop(redoTops, history, redoTop, history.redoTop);
+                retireIfEmpty(history);
+            }
+        } finally {
+            history.lock.unlock();
+        }
     }
-}
\ No newline at end of file
+
+    private void run(ICommandListener.Phase phase, ICommand command) {
+        if (listener == null) {
+            if (phase == ICommandListener.Phase.UNDO) command.undo();
+            else command.execute();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            if (phase == ICommandListener.Phase.UNDO) command.undo();
+            else command.execute();
+        } catch (RuntimeException e) {
+            listener.onCompleted(phase, command, System.nanoTime() - start, e);
+            throw e;
+        }
+        listener.onCompleted(phase, command, System.nanoTime() - start, null);
+    }
+
+    // Returns the key's history locked; retries if it was dropped between the lookup and the lock.
+    private History lock(Object key) {
+        while (true) {
+            History history = histories.computeIfAbsent(key, History::new);
+            history.lock.lock();
+            if (!history.retired) return history;
+            history.lock.unlock();
+        }
+    }
+
+    private static void moveTop(ConcurrentNavigableMap<Long, History> tops, History history, long from, long to) {
+        if (from == to) return;
+        if (from != 0) tops.remove(from, history);
+        if (to != 0) tops.put(to, history);
+    }
+
+    private void retireIfEmpty(History history) {
+        if (history.undoTop != 0 || history.redoTop != 0) return;
+        history.retired = true;
+        histories.remove(history.key, history);
+    }
+
+    private static final class History {
+        private final Object key;
+        private final ReentrantLock lock = new ReentrantLock();
+        // Set under the lock once the history has been dropped from the map.
+        private boolean retired;
+        private final Deque<Entry> undoStack = new ArrayDeque<>();
+        private final Deque<Entry> redoStack = new ArrayDeque<>();
+        private volatile long undoTop;
+        private volatile long redoTop;
+
+        private History(Object key) {
+            this.key = key;
+        }
+
+        private void pushUndo(ICommand command, long sequence) {
+            undoStack.push(new Entry(command, sequence));
+            undoTop = sequence;
+        }
+
+        private void pushRedo(ICommand command, long sequence) {
+            redoStack.push(new Entry(command, sequence));
+            redoTop = sequence;
+        }
+
+        private ICommand popUndo() {
+            Entry entry = undoStack.poll();
+            Entry top = undoStack.peek();
+            undoTop = top == null ? 0 : top.sequence;
+            return entry == null ? null : entry.command;
+        }
+
+        private ICommand popRedo() {
+            Entry entry = redoStack.poll();
+            Entry top = redoStack.peek();
+            redoTop = top == null ? 0 : top.sequence;
+            return entry == null ? null : entry.command;
+        }
+
+        private int clearRedo() {
+            int cleared = redoStack.size();
+            redoStack.clear();
+            redoTop = 0;
+            return cleared;
+        }
+    }
+
+    private record Entry(ICommand command, long sequence) {}
+}
@@ -7,7 +7,7 @@ import com.javawallet.domain.model.Wallet;
 
 import java.util.UUID;
 
-public class CreateTransactionCommand implements ICommand{
+public class CreateTransactionCommand implements IWalletCommand{
     private final UUID walletId;
     private final Transaction transaction;
     private final IWalletRepository walletRepository;
@@ -18,6 +18,11 @@ public class CreateTransactionCommand implements ICommand{
         this.walletRepository = walletRepository;
     }
 
+    @Override
+    public UUID getWalletId() {
+        return walletId;
+    }
+
     @Override
     public void execute() {
         Wallet w = walletRepository.getWalletByUUID(walletId)
@@ -25,7 +30,7 @@ public class CreateTransactionCommand implements ICommand{
                 .findFirst()
                 .orElseThrow(()-> new WalletNotFoundException("Wallet not found with id " + walletId.toString()));
         w.addTransaction(transaction);
-        walletRepository.upsertWallet(w);
+        walletRepository.saveChanges(w);
     }
 
     @Override
@@ -35,6 +40,6 @@ public class CreateTransactionCommand implements ICommand{
                 .findFirst()
                 .orElseThrow(()-> new WalletNotFoundException("Wallet not found with id " + walletId.toString()));
         w.rollbackTransaction(transaction);
-        walletRepository.upsertWallet(w);
+        walletRepository.saveChanges(w);
     }
 }
@@ -0,0 +1,62 @@
+package com.javawallet.application.command;
+
+import com.javawallet.application.ports.IWalletRepository;
+import com.javawallet.domain.exception.object.WalletNotFoundException;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.Wallet;
+
+import java.util.List;
+import java.util.UUID;
+
+public class CreateTransactionsCommand implements IWalletCommand{
+    private final UUID walletId;
+    private final List<Transaction> transactions;
+    private final IWalletRepository walletRepository;
+
+    public CreateTransactionsCommand(UUID walletId, List<Transaction> transactions, IWalletRepository walletRepository) {
+        this.walletId = walletId;
+        this.transactions = List.copyOf(transactions);
+        this.walletRepository = walletRepository;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    @Override
+    public UUID getWalletId() {
+        return walletId;
+    }
+
+    @Override
+    public void execute() {
+        Wallet w = getWallet();
+        int applied = 0;
+        try {
+            for (Transaction t : transactions) {
+                w.addTransaction(t);
+                applied++;
+            }
+        } catch (RuntimeException e) {
+            for (int i = applied - 1; i >= 0; i--) {
+                w.rollbackTransaction(transactions.get(i));
+            }
+            throw e;
+        }
+        walletRepository.saveChanges(w);
+    }
+
+    @Override
+    public void undo() {
+        Wallet w = getWallet();
+        for (int i = transactions.size() - 1; i >= 0; i--) {
+            w.rollbackTransaction(transactions.get(i));
+        }
+        walletRepository.saveChanges(w);
+    }
+
+    private Wallet getWallet() {
+        return walletRepository.getWalletByUUID(walletId)
+                .orElseThrow(()-> new WalletNotFoundException("Wallet not found with id " + walletId.toString()));
+    }
+}
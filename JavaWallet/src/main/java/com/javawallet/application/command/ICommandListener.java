@@ -0,0 +1,10 @@
+package com.javawallet.application.command;
+
+// Notified by CommandInvoker after every execute, undo and redo, on the calling thread and while the
+// command's history lock is still held, so implementations must be cheap and non-blocking.
+public interface ICommandListener {
+    enum Phase { EXECUTE, UNDO, REDO }
+
+    // failure is null when the command completed normally.
+    void onCompleted(Phase phase, ICommand command, long nanos, RuntimeException failure);
+}
@@ -0,0 +1,7 @@
+package com.javawallet.application.command;
+
+import java.util.UUID;
+
+public interface IWalletCommand extends ICommand {
+    UUID getWalletId();
+}
@@ -4,7 +4,6 @@ import com.javawallet.application.ports.ICategoryRepository;
 import com.javawallet.domain.exception.object.CategoryNullException;
 import com.javawallet.domain.model.Category;
 
-import java.util.Collection;
 import java.util.UUID;
 
 public class RemoveCategoryCommand implements ICommand{
@@ -13,12 +12,9 @@ public class RemoveCategoryCommand implements ICommand{
 
     public RemoveCategoryCommand(
             UUID id,
-            Collection<Category> categories,
             ICategoryRepository categoryRepository) {
         this.categoryRepository = categoryRepository;
-        this.category = categories.stream()
-                .filter(c -> c.getId().equals(id))
-                .findFirst()
+        this.category = categoryRepository.getCategoryByUUID(id)
                 .orElseThrow(()->new CategoryNullException("Category not found with id " + id.toString()));
     }
 
@@ -6,7 +6,7 @@ import com.javawallet.domain.model.Wallet;
 
 import java.util.UUID;
 
-public class RemoveTransactionCommand implements ICommand{
+public class RemoveTransactionCommand implements IWalletCommand{
     private final UUID walletId;
     private final Transaction transaction;
     private final IWalletRepository walletRepository;
@@ -17,17 +17,22 @@ public class RemoveTransactionCommand implements ICommand{
         this.walletRepository = walletRepository;
     }
 
+    @Override
+    public UUID getWalletId() {
+        return walletId;
+    }
+
     @Override
     public void execute() {
         Wallet w = walletRepository.getWalletByUUID(this.walletId).get();
         w.rollbackTransaction(transaction);
-        walletRepository.upsertWallet(w);
+        walletRepository.saveChanges(w);
     }
 
     @Override
     public void undo() {
         Wallet w = walletRepository.getWalletByUUID(this.walletId).get();
         w.addTransaction(transaction);
-        walletRepository.upsertWallet(w);
+        walletRepository.saveChanges(w);
     }
 }
@@ -6,7 +6,7 @@ import com.javawallet.domain.model.Wallet;
 
 import java.util.UUID;
 
-public class RemoveWalletCommand implements ICommand{
+public class RemoveWalletCommand implements IWalletCommand{
     private final Wallet wallet;
     private final UUID id;
     private final IWalletRepository walletRepository;
@@ -18,6 +18,11 @@ public class RemoveWalletCommand implements ICommand{
         this.wallet = walletRepository.getWalletByUUID(id).get();
     }
 
+    @Override
+    public UUID getWalletId() {
+        return id;
+    }
+
     @Override
     public void execute() {
         walletRepository.removeWallet(this.id);
@@ -3,7 +3,9 @@ package com.javawallet.application.command;
 import com.javawallet.application.ports.IWalletRepository;
 import com.javawallet.domain.model.Wallet;
 
-public class SaveWalletCommand implements ICommand{
+import java.util.UUID;
+
+public class SaveWalletCommand implements IWalletCommand{
     private final Wallet wallet;
     private final IWalletRepository walletRepository;
 
@@ -17,6 +19,11 @@ public class SaveWalletCommand implements ICommand{
         return wallet;
     }
 
+    @Override
+    public UUID getWalletId() {
+        return wallet.getId();
+    }
+
     @Override
     public void execute() {
         walletRepository.upsertWallet(wallet);
@@ -0,0 +1,64 @@
+package com.javawallet.application.command;
+
+import com.javawallet.application.ports.IWalletRepository;
+import com.javawallet.domain.exception.object.WalletNotFoundException;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.Wallet;
+
+import java.util.List;
+import java.util.UUID;
+
+// Moves money between two wallets: a WITHDRAWAL on the source and a TRANSFER credit on the target.
+// The command lives in the source wallet's history, so undo/redo of the source wallet reverts or
+// replays both sides. Both sides are applied and persisted as one unit through saveChangesAtomically.
+public class TransferCommand implements IWalletCommand {
+    private final UUID sourceWalletId;
+    private final UUID targetWalletId;
+    private final Transaction debit;
+    private final Transaction credit;
+    private final IWalletRepository walletRepository;
+
+    public TransferCommand(UUID sourceWalletId, UUID targetWalletId, Transaction debit, Transaction credit, IWalletRepository walletRepository) {
+        this.sourceWalletId = sourceWalletId;
+        this.targetWalletId = targetWalletId;
+        this.debit = debit;
+        this.credit = credit;
+        this.walletRepository = walletRepository;
+    }
+
+    public Transaction getDebit() {
+        return debit;
+    }
+
+    public Transaction getCredit() {
+        return credit;
+    }
+
+    @Override
+    public UUID getWalletId() {
+        return sourceWalletId;
+    }
+
+    public UUID getTargetWalletId() {
+        return targetWalletId;
+    }
+
+    @Override
+    public void execute() {
+        Wallet source = getWallet(sourceWalletId);
+        Wallet target = getWallet(targetWalletId);
+        walletRepository.saveChangesAtomically(List.of(source, target), () -> Wallet.transfer(source, target, debit, credit));
+    }
+
+    @Override
+    public void undo() {
+        Wallet source = getWallet(sourceWalletId);
+        Wallet target = getWallet(targetWalletId);
+        walletRepository.saveChangesAtomically(List.of(source, target), () -> Wallet.reverseTransfer(source, target, debit, credit));
+    }
+
+    private Wallet getWallet(UUID walletId) {
+        return walletRepository.getWalletByUUID(walletId)
+                .orElseThrow(()-> new WalletNotFoundException("Wallet not found with id " + walletId.toString()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.javawallet.application.importer;
+
+// Bloom filter over precomputed 64-bit fingerprints, probing with double hashing.
+final class BloomFilter {
+    private final long[] bits;
+    private final int size;
+    private final int hashes;
+
+    BloomFilter(int expected, double falsePositiveRate) {
+        int n = Math.max(1, expected);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.size = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, m));
+        this.hashes = Math.max(1, (int) Math.round((double) size / n * Math.log(2)));
+        this.bits = new long[(size + 63) >>> 6];
+    }
+
+    void add(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = mix(fingerprint);
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, size);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = mix(fingerprint);
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, size);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (z ^ (z >>> 33)) | 1L;
+    }
+}
@@ -0,0 +1,33 @@
+package com.javawallet.application.importer;
+
+import com.javawallet.domain.model.Category;
+import com.javawallet.domain.model.CategoryRegistry;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Resolves statement category labels by name or by "parent/child" path, case-insensitively.
+public class CategoryMapper {
+    private final Map<String, Category> byLabel = new HashMap<>();
+
+    public CategoryMapper(CategoryRegistry registry) {
+        for (Category c : registry.categories()) {
+            byLabel.putIfAbsent(key(c.getName()), c);
+            byLabel.put(key(path(c)), c);
+        }
+    }
+
+    public Category resolve(String label) {
+        if (label == null || label.isBlank()) return null;
+        return byLabel.get(key(label.trim()));
+    }
+
+    private static String path(Category c) {
+        return c.getParent() == null ? c.getName() : path(c.getParent()) + "/" + c.getName();
+    }
+
+    private static String key(String label) {
+        return label.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,145 @@
+package com.javawallet.application.importer;
+
+import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.TransactionBuilder;
+import com.javawallet.domain.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+
+// Single-line CSV records: negative amounts are withdrawals, positive ones deposits.
+// Columns set to -1 are absent; a missing currency column falls back to the default currency.
+public class CsvStatementFormat implements IStatementFormat {
+    private char delimiter = ',';
+    private int headerLines = 1;
+    private int dateColumn = 0;
+    private int amountColumn = 1;
+    private int currencyColumn = 2;
+    private int noteColumn = 3;
+    private int categoryColumn = 4;
+    private String defaultCurrency;
+    private DateTimeFormatter dateFormat = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE)
+            .optionalStart()
+            .appendLiteral('T')
+            .append(DateTimeFormatter.ISO_LOCAL_TIME)
+            .optionalEnd()
+            .toFormatter();
+
+    public CsvStatementFormat withDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    public CsvStatementFormat withHeaderLines(int headerLines) {
+        this.headerLines = headerLines;
+        return this;
+    }
+
+    public CsvStatementFormat withColumns(int date, int amount, int currency, int note, int category) {
+        this.dateColumn = date;
+        this.amountColumn = amount;
+        this.currencyColumn = currency;
+        this.noteColumn = note;
+        this.categoryColumn = category;
+        return this;
+    }
+
+    public CsvStatementFormat withDefaultCurrency(String currency) {
+        this.defaultCurrency = currency;
+        return this;
+    }
+
+    public CsvStatementFormat withDateFormat(DateTimeFormatter dateFormat) {
+        this.dateFormat = dateFormat;
+        return this;
+    }
+
+    @Override
+    public int headerLines() {
+        return headerLines;
+    }
+
+    @Override
+    public TransactionBuilder parse(String line, CategoryMapper categories) {
+        if (line.isBlank()) return null;
+        List<String> fields = split(line);
+
+        String rawAmount = field(fields, amountColumn);
+        if (rawAmount == null) throw new IllegalArgumentException("Missing amount");
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(rawAmount);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount '" + rawAmount + "'");
+        }
+        if (amount.signum() == 0) throw new IllegalArgumentException("Amount must not be zero");
+
+        String currency = field(fields, currencyColumn);
+        if (currency == null) currency = defaultCurrency;
+        if (currency == null) throw new IllegalArgumentException("Missing currency");
+
+        TransactionType type = amount.signum() < 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT;
+        TransactionBuilder builder = new TransactionBuilder(Money.of(amount.abs(), currency), type)
+                .withNote(field(fields, noteColumn));
+
+        String date = field(fields, dateColumn);
+        if (date != null) builder.withDate(parseDate(date));
+
+        String category = field(fields, categoryColumn);
+        if (category != null && categories != null) builder.withCategory(categories.resolve(category));
+        return builder;
+    }
+
+    private LocalDateTime parseDate(String value) {
+        try {
+            TemporalAccessor parsed = dateFormat.parseBest(value, LocalDateTime::from, LocalDate::from);
+            return parsed instanceof LocalDate d ? d.atStartOfDay() : (LocalDateTime) parsed;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid date '" + value + "'");
+        }
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size()) return null;
+        String value = fields.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else if (c != '\r') {
+                current.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("Unterminated quoted field");
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,146 @@
+package com.javawallet.application.importer;
+
+import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.TransactionBuilder;
+import com.javawallet.domain.model.TransactionType;
+import com.javawallet.domain.model.Wallet;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Content identity for imported rows: (wallet, date, amount, currency, type, note).
+// A Bloom filter answers the common "never seen" case; hits are confirmed against the wallet's
+// actual transactions. Identical rows are counted, so a statement may legitimately repeat a row
+// and a re-import skips exactly as many copies as the wallet already holds. A cached index is only
+// reused while the wallet's modification count still matches the one it was built at; any add or
+// removal since, whether by commands, undo, transfers or an earlier import, makes open() rebuild it.
+public class DuplicateDetector {
+    private static final int DEFAULT_EXPECTED = 1 << 16;
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private final Map<UUID, Index> indexes = new ConcurrentHashMap<>();
+    private final int expected;
+    private final double falsePositiveRate;
+
+    public DuplicateDetector() {
+        this(DEFAULT_EXPECTED, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    public DuplicateDetector(int expectedPerWallet, double falsePositiveRate) {
+        this.expected = expectedPerWallet;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public Session open(Wallet wallet) {
+        Index index = indexes.get(wallet.getId());
+        long modifications = wallet.getModificationCount();
+        if (index != null && index.modifications == modifications) return new Session(wallet, index);
+        List<Transaction> history;
+        // The count and the history must describe the same state.
+        synchronized (wallet) {
+            modifications = wallet.getModificationCount();
+            history = wallet.getTransactionsSnapshot();
+        }
+        Index created = new Index(wallet.getId(), Math.max(expected, history.size() * 2), modifications);
+        history.forEach(created::add);
+        indexes.put(wallet.getId(), created);
+        return new Session(wallet, created);
+    }
+
+    // Drops the cached index to free its memory; it is rebuilt on the next open().
+    public void forget(UUID walletId) {
+        indexes.remove(walletId);
+    }
+
+    public static long fingerprint(UUID walletId, LocalDateTime date, Money money, TransactionType type, String note) {
+        long h = walletId.getMostSignificantBits() * 31 + walletId.getLeastSignificantBits();
+        if (date != null) {
+            h = h * 31 + date.toEpochSecond(ZoneOffset.UTC);
+            h = h * 31 + date.getNano();
+        }
+        h = h * 31 + (money.hasMinorUnits() ? money.getMinorUnits() : money.getAmount().hashCode());
+        h = h * 31 + money.getCurrencyCode().getIndex();
+        h = h * 31 + type.ordinal();
+        h = h * 31 + (note == null ? 0 : note.hashCode());
+        return BloomFilter.mix(h);
+    }
+
+    public final class Session {
+        private final Wallet wallet;
+        private final Index index;
+        private final Map<Long, Integer> occurrences = new HashMap<>();
+
+        private Session(Wallet wallet, Index index) {
+            this.wallet = wallet;
+            this.index = index;
+        }
+
+        public boolean isDuplicate(TransactionBuilder b) {
+            long fp = fingerprint(wallet.getId(), b.getDate(), b.getAmount(), b.getType(), b.getNote());
+            int occurrence = occurrences.merge(fp, 1, Integer::sum);
+            return occurrence <= index.count(fp, wallet, b);
+        }
+
+        public void record(Transaction t) {
+            index.add(t);
+        }
+    }
+
+    private final class Index {
+        private final UUID walletId;
+        // The wallet's modification count the index was built at.
+        private final long modifications;
+        private final Map<Long, List<UUID>> exact = new HashMap<>();
+        private BloomFilter filter;
+        private int capacity;
+        private int size;
+
+        private Index(UUID walletId, int capacity, long modifications) {
+            this.walletId = walletId;
+            this.modifications = modifications;
+            this.capacity = capacity;
+            this.filter = new BloomFilter(capacity, falsePositiveRate);
+        }
+
+        private synchronized void add(Transaction t) {
+            long fp = fingerprint(walletId, t.getDate(), t.getMoney(), t.getType(), t.getNote());
+            exact.computeIfAbsent(fp, k -> new ArrayList<>(1)).add(t.getId());
+            if (++size > capacity) {
+                capacity *= 2;
+                filter = new BloomFilter(capacity, falsePositiveRate);
+                exact.keySet().forEach(filter::add);
+            } else {
+                filter.add(fp);
+            }
+        }
+
+        private synchronized int count(long fp, Wallet wallet, TransactionBuilder b) {
+            if (!filter.mightContain(fp)) return 0;
+            List<UUID> ids = exact.get(fp);
+            if (ids == null) return 0;
+            int count = 0;
+            Iterator<UUID> it = ids.iterator();
+            while (it.hasNext()) {
+                Optional<Transaction> t = wallet.getTransaction(it.next());
+                if (t.isEmpty()) {
+                    it.remove();
+                    size--;
+                } else if (sameContent(t.get(), b)) {
+                    count++;
+                }
+            }
+            if (ids.isEmpty()) exact.remove(fp);
+            return count;
+        }
+    }
+
+    private static boolean sameContent(Transaction t, TransactionBuilder b) {
+        return t.getType() == b.getType()
+                && t.getMoney().equals(b.getAmount())
+                && Objects.equals(t.getDate(), b.getDate())
+                && Objects.equals(t.getNote(), b.getNote());
+    }
+}
@@ -0,0 +1,11 @@
+package com.javawallet.application.importer;
+
+import com.javawallet.domain.model.TransactionBuilder;
+
+public interface IStatementFormat {
+    // Leading lines (headers) that carry no transaction.
+    int headerLines();
+
+    // Parses one statement line; returns null for lines that carry no transaction.
+    TransactionBuilder parse(String line, CategoryMapper categories);
+}
@@ -0,0 +1,46 @@
+package com.javawallet.application.importer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ImportReport {
+    private final int maxErrors;
+    private final List<RowError> errors = new ArrayList<>();
+    private long rows;
+    private long imported;
+    private long failed;
+    private long skipped;
+
+    ImportReport(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public record RowError(long line, String message) {}
+
+    void read(long count) { rows += count; }
+    void imported(long count) { imported += count; }
+    void skipped(long count) { skipped += count; }
+
+    void failed(long line, String message) {
+        failed++;
+        if (errors.size() < maxErrors) errors.add(new RowError(line, message));
+    }
+
+    public long getRows() { return rows; }
+    public long getImported() { return imported; }
+    public long getFailed() { return failed; }
+    public long getSkipped() { return skipped; }
+    // Only the first maxErrors errors are kept; getFailed() has the full count.
+    public List<RowError> getErrors() { return Collections.unmodifiableList(errors); }
+
+    @Override
+    public String toString() {
+        return "ImportReport{" +
+                "rows=" + rows +
+                ", imported=" + imported +
+                ", failed=" + failed +
+                ", skipped=" + skipped +
+                '}';
+    }
+}
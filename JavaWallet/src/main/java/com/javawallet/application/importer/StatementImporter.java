@@ -0,0 +1,213 @@
+package com.javawallet.application.importer;
+
+import com.javawallet.application.manager.FinanceManager;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.TransactionBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// Reads the file in chunks cut at line boundaries, parses chunks on the executor and commits rows in
+// order in batches. At most `parallelism` chunks are in flight, so reading stalls while commits catch up.
+public class StatementImporter {
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    private static final int DEFAULT_MAX_ERRORS = 1000;
+
+    private final FinanceManager financeManager;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int batchSize;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public StatementImporter(FinanceManager financeManager, ExecutorService executor) {
+        this(financeManager, executor, Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_ERRORS);
+    }
+
+    public StatementImporter(FinanceManager financeManager, ExecutorService executor, int parallelism, int batchSize, int chunkSize, int maxErrors) {
+        this.financeManager = financeManager;
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+        this.batchSize = Math.max(1, batchSize);
+        this.chunkSize = Math.max(64, chunkSize);
+        this.maxErrors = maxErrors;
+    }
+
+    public ImportReport importFile(Path file, UUID walletId, IStatementFormat format, CategoryMapper categories) {
+        return importFile(file, walletId, format, categories, null);
+    }
+
+    // With a detector, rows already present in the wallet are skipped, making re-imports idempotent.
+    public ImportReport importFile(Path file, UUID walletId, IStatementFormat format, CategoryMapper categories, DuplicateDetector duplicates) {
+        DuplicateDetector.Session session = duplicates == null ? null : duplicates.open(financeManager.getWallet(walletId));
+        Run run = new Run(walletId, session, new ImportReport(maxErrors));
+        Deque<Future<Parsed>> inFlight = new ArrayDeque<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+            int skip = format.headerLines();
+            boolean eof = false;
+            while (!eof) {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        eof = true;
+                        break;
+                    }
+                }
+                buffer.flip();
+                int end = eof ? buffer.limit() : lastNewline(buffer) + 1;
+                if (end == 0 && !eof) {
+                    // A single line longer than the buffer.
+                    ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                    larger.put(buffer);
+                    buffer = larger;
+                    continue;
+                }
+                if (end > 0) {
+                    byte[] chunk = new byte[end];
+                    buffer.get(chunk);
+                    if (inFlight.size() >= parallelism) run.commit(await(inFlight.poll()));
+                    int headerLines = skip;
+                    inFlight.add(executor.submit(() -> parse(chunk, headerLines, format, categories)));
+                    skip = 0;
+                }
+                buffer.compact();
+            }
+            while (!inFlight.isEmpty()) run.commit(await(inFlight.poll()));
+            run.flush();
+            return run.report;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            inFlight.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private static int lastNewline(ByteBuffer buffer) {
+        for (int i = buffer.limit() - 1; i >= buffer.position(); i--) {
+            if (buffer.get(i) == '\n') return i - buffer.position();
+        }
+        return -1;
+    }
+
+    private static Parsed parse(byte[] chunk, int headerLines, IStatementFormat format, CategoryMapper categories) {
+        String text = new String(chunk, StandardCharsets.UTF_8);
+        Parsed parsed = new Parsed();
+        int start = 0;
+        while (start < text.length()) {
+            int newline = text.indexOf('\n', start);
+            int end = newline < 0 ? text.length() : newline;
+            int offset = parsed.lines++;
+            if (offset >= headerLines) {
+                try {
+                    TransactionBuilder builder = format.parse(text.substring(start, end), categories);
+                    if (builder != null) parsed.rows.add(new Row(offset, builder));
+                } catch (RuntimeException e) {
+                    parsed.errors.add(new Row(offset, e.getMessage()));
+                }
+            }
+            start = end + 1;
+        }
+        return parsed;
+    }
+
+    private static Parsed await(Future<Parsed> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Statement parsing failed", e.getCause());
+        }
+    }
+
+    private final class Run {
+        private final UUID walletId;
+        private final DuplicateDetector.Session duplicates;
+        private final ImportReport report;
+        private final List<Row> pending = new ArrayList<>();
+        private long line = 1;
+
+        private Run(UUID walletId, DuplicateDetector.Session duplicates, ImportReport report) {
+            this.walletId = walletId;
+            this.duplicates = duplicates;
+            this.report = report;
+        }
+
+        private void commit(Parsed parsed) {
+            int e = 0;
+            for (Row row : parsed.rows) {
+                while (e < parsed.errors.size() && parsed.errors.get(e).offset < row.offset) fail(parsed.errors.get(e++));
+                if (duplicates != null && duplicates.isDuplicate(row.builder)) {
+                    report.skipped(1);
+                    continue;
+                }
+                pending.add(new Row(line + row.offset, row.builder));
+                if (pending.size() >= batchSize) flush();
+            }
+            while (e < parsed.errors.size()) fail(parsed.errors.get(e++));
+            report.read(parsed.rows.size() + parsed.errors.size());
+            line += parsed.lines;
+        }
+
+        private void fail(Row error) {
+            report.failed(line + error.offset, error.error);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) return;
+            List<TransactionBuilder> builders = new ArrayList<>(pending.size());
+            pending.forEach(r -> builders.add(r.builder));
+            try {
+                record(financeManager.createTransactions(walletId, builders));
+                report.imported(builders.size());
+            } catch (RuntimeException batchFailure) {
+                // The batch was rolled back as a whole; retry row by row to isolate the offenders.
+                for (Row row : pending) {
+                    try {
+                        record(financeManager.createTransactions(walletId, List.of(row.builder)));
+                        report.imported(1);
+                    } catch (RuntimeException e) {
+                        report.failed(row.offset, e.getMessage());
+                    }
+                }
+            }
+            pending.clear();
+        }
+
+        private void record(Collection<Transaction> transactions) {
+            if (duplicates != null) transactions.forEach(duplicates::record);
+        }
+    }
+
+    private static final class Parsed {
+        private final List<Row> rows = new ArrayList<>();
+        private final List<Row> errors = new ArrayList<>();
+        private int lines;
+    }
+
+    private record Row(long offset, TransactionBuilder builder, String error) {
+        private Row(long offset, TransactionBuilder builder) {
+            this(offset, builder, null);
+        }
+
+        private Row(long offset, String error) {
+            this(offset, null, error);
+        }
+    }
+}
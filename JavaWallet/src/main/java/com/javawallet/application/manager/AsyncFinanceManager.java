@@ -0,0 +1,199 @@
+package com.javawallet.application.manager;
+
+import com.javawallet.application.ports.IGroupCommit;
+import com.javawallet.domain.model.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Non-blocking front for FinanceManager. Guarantees:
+//  - commands for one wallet run one at a time, in submission order; different wallets run in parallel;
+//  - category commands and global undo/redo share one lane and are ordered among themselves;
+//  - a failed command completes its future exceptionally and does not stop the lane;
+//  - with Durability.DURABLE a completed future means the command, and everything applied before it,
+//    is on disk. Waiting for the flush happens off the lane, so it never delays the next command.
+public class AsyncFinanceManager implements AutoCloseable {
+    private static final Object GLOBAL = new Object();
+
+    private final FinanceManager financeManager;
+    private final ExecutorService executor;
+    private final IGroupCommit groupCommit;
+    private final Durability durability;
+    private final Map<Object, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+    // Futures handed out and not yet completed; close() waits for this to drain before shutting down.
+    private final AtomicInteger pending = new AtomicInteger();
+    private final CompletableFuture<Void> drained = new CompletableFuture<>();
+    private volatile boolean closed;
+
+    public AsyncFinanceManager(FinanceManager financeManager, ExecutorService executor) {
+        this(financeManager, executor, null, Durability.APPLIED);
+    }
+
+    public AsyncFinanceManager(FinanceManager financeManager, ExecutorService executor, IGroupCommit groupCommit, Durability durability) {
+        if (durability == Durability.DURABLE && groupCommit == null) {
+            throw new IllegalArgumentException("DURABLE requires a group-commit capable store");
+        }
+        this.financeManager = financeManager;
+        this.executor = executor;
+        this.groupCommit = groupCommit;
+        this.durability = durability;
+    }
+
+    // One virtual thread per task: a command blocked on a repository write parks instead of holding a carrier thread.
+    public static AsyncFinanceManager onVirtualThreads(FinanceManager financeManager, IGroupCommit groupCommit, Durability durability) {
+        return new AsyncFinanceManager(financeManager, Executors.newVirtualThreadPerTaskExecutor(), groupCommit, durability);
+    }
+
+    public FinanceManager getFinanceManager() {
+        return financeManager;
+    }
+
+    public CompletableFuture<Wallet> createWallet(String name, WalletType walletType, Money initialBalance) {
+        // A new wallet has no lane to order against yet.
+        return track(() -> durable(CompletableFuture.supplyAsync(() -> applied(financeManager.createWallet(name, walletType, initialBalance)), executor)));
+    }
+
+    public CompletableFuture<Void> removeWallet(UUID id) {
+        return commit(id, () -> financeManager.removeWallet(id));
+    }
+
+    public CompletableFuture<Void> createCategory(String name) {
+        return commit(GLOBAL, () -> financeManager.createCategory(name));
+    }
+
+    public CompletableFuture<Void> removeCategory(UUID id) {
+        return commit(GLOBAL, () -> financeManager.removeCategory(id));
+    }
+
+    public CompletableFuture<Transaction> createTransaction(UUID walletId, TransactionBuilder builder) {
+        return createTransactions(walletId, List.of(builder)).thenApply(created -> created.iterator().next());
+    }
+
+    public CompletableFuture<Collection<Transaction>> createTransactions(UUID walletId, Collection<TransactionBuilder> builders) {
+        return track(() -> durable(submit(walletId, () -> applied(financeManager.createTransactions(walletId, builders)))));
+    }
+
+    // Ordered on the source wallet's lane; the target side is protected by the wallets' own locks.
+    public CompletableFuture<Void> transfer(UUID sourceWalletId, UUID targetWalletId, Money amount) {
+        return commit(sourceWalletId, () -> financeManager.transfer(sourceWalletId, targetWalletId, amount));
+    }
+
+    public CompletableFuture<Void> removeTransaction(UUID walletId, UUID transactionId) {
+        return commit(walletId, () -> financeManager.removeTransaction(walletId, transactionId));
+    }
+
+    // Runs on the wallet's lane, so it observes every command submitted for that wallet before it.
+    public CompletableFuture<Transaction> getTransaction(UUID walletId, UUID transactionId) {
+        return track(() -> submit(walletId, () -> financeManager.getTransaction(walletId, transactionId)));
+    }
+
+    public CompletableFuture<Void> undo(UUID walletId) {
+        return commit(walletId, () -> financeManager.undo(walletId));
+    }
+
+    public CompletableFuture<Void> redo(UUID walletId) {
+        return commit(walletId, () -> financeManager.redo(walletId));
+    }
+
+    public CompletableFuture<Void> undo() {
+        return commit(GLOBAL, financeManager::undo);
+    }
+
+    public CompletableFuture<Void> redo() {
+        return commit(GLOBAL, financeManager::redo);
+    }
+
+    // Stops accepting work and waits until every future already handed out has completed, including
+    // durable flushes, then shuts the executor down. Calls made after close() fail with
+    // RejectedExecutionException.
+    @Override
+    public void close() {
+        closed = true;
+        if (pending.get() == 0) drained.complete(null);
+        drained.join();
+        executor.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private CompletableFuture<Void> commit(Object lane, Runnable command) {
+        return track(() -> durable(submit(lane, () -> {
+            command.run();
+            return applied(null);
+        })));
+    }
+
+    // Counts the future as pending before checking `closed`, so close() either sees it or it sees close().
+    private <T> CompletableFuture<T> track(Supplier<CompletableFuture<T>> start) {
+        pending.incrementAndGet();
+        if (closed) {
+            release();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("AsyncFinanceManager is closed"));
+        }
+        CompletableFuture<T> future;
+        try {
+            future = start.get();
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+        future.whenComplete((ignored, failure) -> release());
+        return future;
+    }
+
+    private void release() {
+        if (pending.decrementAndGet() == 0 && closed) drained.complete(null);
+    }
+
+    private <T> Applied<T> applied(T value) {
+        return new Applied<>(value, durability == Durability.DURABLE ? groupCommit.mark() : 0);
+    }
+
+    private <T> CompletableFuture<T> durable(CompletableFuture<Applied<T>> applied) {
+        if (durability == Durability.APPLIED) return applied.thenApply(Applied::value);
+        return applied.thenApplyAsync(a -> {
+            groupCommit.sync(a.mark());
+            return a.value();
+        }, executor);
+    }
+
+    // Chains the task behind the lane's current tail. The tail is dropped once it completes, so idle
+    // wallets do not keep entries around.
+    private <T> CompletableFuture<T> submit(Object lane, Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<?>[] next = new CompletableFuture<?>[1];
+        tails.compute(lane, (k, tail) -> next[0] = (tail == null ? CompletableFuture.completedFuture(null) : tail)
+                .handleAsync((ignored, previousFailure) -> {
+                    try {
+                        result.complete(task.get());
+                    } catch (Throwable e) {
+                        result.completeExceptionally(e);
+                    }
+                    return null;
+                }, executor));
+        next[0].whenComplete((ignored, rejected) -> {
+            tails.remove(lane, next[0]);
+            if (rejected != null) result.completeExceptionally(rejected);
+        });
+        return result;
+    }
+
+    private record Applied<T>(T value, long mark) {}
+}
@@ -0,0 +1,9 @@
+package com.javawallet.application.manager;
+
+public enum Durability {
+    // The future completes once the command is applied; the write reaches disk on the next flush,
+    // checkpoint or close and may be lost on a crash before that.
+    APPLIED,
+    // The future completes only after a group commit has forced the command's writes to disk.
+    DURABLE
+}
@@ -0,0 +1,62 @@
+package com.javawallet.application.manager;
+
+import com.javawallet.application.ports.IExchangeRateRepository;
+import com.javawallet.domain.model.CurrencyConverter;
+import com.javawallet.domain.model.ExchangeRateTable;
+import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.Wallet;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Holds the current rate table and caches one converter per (target currency, as-of date).
+// reload() swaps in a new table version and drops the converters built from the old one.
+public class ExchangeRateService {
+    private static final int MAX_CONVERTERS = 1024;
+
+    private final IExchangeRateRepository repository;
+    private final String base;
+    private final Map<ConverterKey, CurrencyConverter> converters = new ConcurrentHashMap<>();
+    private volatile ExchangeRateTable table;
+
+    public ExchangeRateService(IExchangeRateRepository repository, String base) {
+        this.repository = repository;
+        this.base = base;
+        // Loads the first table here rather than through reload(), which a subclass could override.
+        this.table = ExchangeRateTable.of(base, 1, repository.loadRates());
+    }
+
+    public synchronized ExchangeRateTable reload() {
+        ExchangeRateTable loaded = ExchangeRateTable.of(base, table.getVersion() + 1, repository.loadRates());
+        table = loaded;
+        converters.clear();
+        return loaded;
+    }
+
+    public ExchangeRateTable getTable() {
+        return table;
+    }
+
+    public CurrencyConverter converter(String target, LocalDate asOf) {
+        ExchangeRateTable current = table;
+        ConverterKey key = new ConverterKey(target, asOf);
+        CurrencyConverter cached = converters.get(key);
+        if (cached != null && cached.getTableVersion() == current.getVersion()) return cached;
+        if (converters.size() >= MAX_CONVERTERS) converters.clear();
+        CurrencyConverter created = current.converter(target, asOf);
+        converters.put(key, created);
+        return created;
+    }
+
+    public Money convert(Money money, String target, LocalDate asOf) {
+        return converter(target, asOf).convert(money);
+    }
+
+    public Money netWorth(Collection<Wallet> wallets, String target, LocalDate asOf) {
+        return converter(target, asOf).netWorth(wallets);
+    }
+
+    private record ConverterKey(String target, LocalDate asOf) {}
+}
@@ -11,8 +11,9 @@ import com.javawallet.domain.visitor.IVisitor;
 import com.javawallet.infrastructure.persistence.IPersistenceContext;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Optional;
+import java.util.List;
 import java.util.UUID;
 
 public class FinanceManager {
@@ -68,7 +69,7 @@ public class FinanceManager {
     }
 
     public void removeCategory(UUID id){
-        RemoveCategoryCommand command = new RemoveCategoryCommand(id, getCategories(), getCategoryRepository());
+        RemoveCategoryCommand command = new RemoveCategoryCommand(id, getCategoryRepository());
         commandInvoker.execute(command);
     }
 
@@ -76,6 +77,10 @@ public class FinanceManager {
         return getCategoryRepository().loadCategories();
     }
 
+    public CategoryRegistry getCategoryRegistry(){
+        return getCategoryRepository().loadRegistry();
+    }
+
     public void createTransaction(
             UUID walletId,
             Money amount,
@@ -131,6 +136,40 @@ public class FinanceManager {
         commandInvoker.execute(command);
     }
 
+    public Collection<Transaction> createTransactions(UUID walletId, Collection<TransactionBuilder> builders){
+        List<Transaction> transactions = new ArrayList<>(builders.size());
+        builders.forEach(b -> transactions.add(b.build()));
+        CreateTransactionsCommand command = new CreateTransactionsCommand(walletId, transactions, getWalletRepository());
+        commandInvoker.execute(command);
+        return command.getTransactions();
+    }
+
+
+    public void transfer(UUID sourceWalletId, UUID targetWalletId, Money amount){
+        transfer(sourceWalletId, targetWalletId, amount, null, null, null);
+    }
+
+    public void transfer(
+            UUID sourceWalletId,
+            UUID targetWalletId,
+            Money amount,
+            Category category,
+            String note,
+            LocalDateTime date
+    ){
+        Transaction debit = new TransactionBuilder(amount, TransactionType.WITHDRAWAL)
+                .withCategory(category)
+                .withNote(note)
+                .withDate(date)
+                .build();
+        Transaction credit = new TransactionBuilder(amount, TransactionType.TRANSFER)
+                .withCategory(category)
+                .withNote(note)
+                .withDate(date)
+                .build();
+        TransferCommand command = new TransferCommand(sourceWalletId, targetWalletId, debit, credit, getWalletRepository());
+        commandInvoker.execute(command);
+    }
 
     public void removeTransaction(UUID walletId, UUID transactionId){
         RemoveTransactionCommand command = new RemoveTransactionCommand(
@@ -142,10 +181,8 @@ public class FinanceManager {
 
     public Transaction getTransaction(UUID walletId, UUID transactionId){
         Wallet wallet = getWalletRepository().getWalletByUUID(walletId).get();
-        Collection<Transaction> transactions = wallet.getTransactions();
-        Optional<Transaction> transaction = transactions.stream().filter(t -> t.getId().equals(transactionId)).findAny();
-        if (transaction.isEmpty()) throw new TransactionNotFoundExecption("Not found transaction with id " + transactionId.toString());
-        return transaction.get();
+        return wallet.getTransaction(transactionId)
+                .orElseThrow(() -> new TransactionNotFoundExecption("Not found transaction with id " + transactionId.toString()));
     }
 
     public void generateReport(IVisitable visitable){
@@ -160,4 +197,12 @@ public class FinanceManager {
     public void redo(){
         commandInvoker.redo();
     }
+
+    public void undo(UUID walletId){
+        commandInvoker.undo(walletId);
+    }
+
+    public void redo(UUID walletId){
+        commandInvoker.redo(walletId);
+    }
 }
\ No newline at end of file
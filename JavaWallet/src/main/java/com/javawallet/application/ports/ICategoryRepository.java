@@ -1,8 +1,10 @@
 package com.javawallet.application.ports;
 
 import com.javawallet.domain.model.Category;
+import com.javawallet.domain.model.CategoryRegistry;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ICategoryRepository {
@@ -10,4 +12,12 @@ public interface ICategoryRepository {
     Collection<Category> loadCategories();
     Collection<Category> loadSubcategories(UUID parentId);
     void remove(UUID id);
+
+    default Optional<Category> getCategoryByUUID(UUID id) {
+        return loadCategories().stream().filter(c -> c.getId().equals(id)).findFirst();
+    }
+
+    default CategoryRegistry loadRegistry() {
+        return CategoryRegistry.of(loadCategories());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.javawallet.application.ports;
+
+import com.javawallet.domain.model.ExchangeRate;
+
+import java.util.Collection;
+
+public interface IExchangeRateRepository {
+    Collection<ExchangeRate> loadRates();
+}
@@ -0,0 +1,9 @@
+package com.javawallet.application.ports;
+
+// A store whose writes become durable in batches. mark() is taken after a write and covers it and
+// everything written before; sync(mark) blocks until that point is on disk, sharing one flush
+// between all concurrent callers.
+public interface IGroupCommit {
+    long mark();
+    void sync(long mark);
+}
@@ -5,11 +5,22 @@ import com.javawallet.domain.model.Wallet;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface IWalletRepository {
     void upsertWallet(Wallet w);
+    default void saveChanges(Wallet w) {
+        w.drainChanges();
+        upsertWallet(w);
+    }
+    // Runs `change` on the given wallets and persists the result as one unit, so a crash never leaves
+    // part of it durable. Stores that can do this override it; the default saves each wallet in turn.
+    default void saveChangesAtomically(List<Wallet> wallets, Runnable change) {
+        change.run();
+        wallets.forEach(this::saveChanges);
+    }
     Collection<Wallet> loadWallets();
     Optional<Wallet> getWalletByUUID(UUID id);
     void removeWallet(UUID id);
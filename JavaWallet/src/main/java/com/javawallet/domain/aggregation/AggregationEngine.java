@@ -0,0 +1,120 @@
+package com.javawallet.domain.aggregation;
+
+import com.javawallet.domain.model.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class AggregationEngine {
+    private static final int DEFAULT_THRESHOLD = 8192;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public AggregationEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public AggregationEngine(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public Totals<Category> byCategory(Collection<Wallet> wallets) {
+        return aggregate(wallets, (t, totals) -> {
+            for (Category c = t.getCategory(); c != null; c = c.getParent()) {
+                addSigned(totals, c, t);
+            }
+        });
+    }
+
+    public Totals<Category> byCategory(Collection<Wallet> wallets, CategoryRegistry registry) {
+        Totals<Category> totals = aggregate(wallets, (t, direct) -> {
+            if (t.getCategory() != null) addSigned(direct, t.getCategory(), t);
+        });
+        List<Category> order = registry.categories();
+        for (int i = order.size() - 1; i >= 0; i--) {
+            Category c = order.get(i);
+            registry.parentOf(c.getId()).ifPresent(parent -> totals.mergeKey(c, parent));
+        }
+        return totals;
+    }
+
+    public Totals<TransactionType> byType(Collection<Wallet> wallets) {
+        return aggregate(wallets, (t, totals) -> totals.add(t.getType(), t.getMoney()));
+    }
+
+    public Totals<LocalDate> byPeriod(Collection<Wallet> wallets, Granularity granularity) {
+        return aggregate(wallets, (t, totals) -> {
+            if (t.getDate() != null) addSigned(totals, granularity.truncate(t.getDate()), t);
+        });
+    }
+
+    public Totals<WalletTotals.Bucket> summarize(Collection<Wallet> wallets) {
+        Totals<WalletTotals.Bucket> totals = new Totals<>();
+        wallets.forEach(w -> w.getTotals().getBuckets().forEach(totals::add));
+        return totals;
+    }
+
+    public <K> Totals<K> aggregate(Collection<Wallet> wallets, Classifier<K> classifier) {
+        List<Transaction> transactions = new ArrayList<>();
+        wallets.forEach(w -> transactions.addAll(w.getTransactionsSnapshot()));
+        return pool.invoke(new AggregateTask<>(transactions, 0, transactions.size(), classifier, threshold));
+    }
+
+    public <K> Totals<K> aggregate(Collection<Wallet> wallets, CategoryRegistry registry, UUID categoryId, Classifier<K> classifier) {
+        List<Transaction> transactions = new ArrayList<>();
+        wallets.forEach(w -> w.getTransactionsSnapshot().forEach(t -> {
+            if (registry.isUnder(t.getCategory(), categoryId)) transactions.add(t);
+        }));
+        return pool.invoke(new AggregateTask<>(transactions, 0, transactions.size(), classifier, threshold));
+    }
+
+    private static <K> void addSigned(Totals<K> totals, K key, Transaction t) {
+        if (t.getType() == TransactionType.WITHDRAWAL) {
+            totals.subtract(key, t.getMoney());
+        } else {
+            totals.add(key, t.getMoney());
+        }
+    }
+
+    @FunctionalInterface
+    public interface Classifier<K> {
+        void classify(Transaction t, Totals<K> totals);
+    }
+
+    private static final class AggregateTask<K> extends RecursiveTask<Totals<K>> {
+        private final List<Transaction> transactions;
+        private final int from;
+        private final int to;
+        private final Classifier<K> classifier;
+        private final int threshold;
+
+        private AggregateTask(List<Transaction> transactions, int from, int to, Classifier<K> classifier, int threshold) {
+            this.transactions = transactions;
+            this.from = from;
+            this.to = to;
+            this.classifier = classifier;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Totals<K> compute() {
+            if (to - from <= threshold) {
+                Totals<K> totals = new Totals<>();
+                for (int i = from; i < to; i++) classifier.classify(transactions.get(i), totals);
+                return totals;
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask<K> left = new AggregateTask<>(transactions, from, mid, classifier, threshold);
+            left.fork();
+            Totals<K> right = new AggregateTask<>(transactions, mid, to, classifier, threshold).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.javawallet.domain.aggregation;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public enum Granularity {
+    DAY,
+    MONTH,
+    YEAR;
+
+    public LocalDate truncate(LocalDateTime date) {
+        return switch (this) {
+            case DAY -> date.toLocalDate();
+            case MONTH -> LocalDate.of(date.getYear(), date.getMonth(), 1);
+            case YEAR -> LocalDate.of(date.getYear(), 1, 1);
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.javawallet.domain.aggregation;
+
+import com.javawallet.domain.model.CurrencyCode;
+import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.MoneyAccumulator;
+
+import java.util.*;
+
+public class Totals<K> {
+    private final Map<K, Map<CurrencyCode, MoneyAccumulator>> totals = new HashMap<>();
+
+    public void add(K key, Money money) {
+        accumulator(key, money).add(money);
+    }
+
+    public void subtract(K key, Money money) {
+        accumulator(key, money).subtract(money);
+    }
+
+    public Totals<K> merge(Totals<K> other) {
+        other.totals.forEach((key, byCurrency) -> {
+            Map<CurrencyCode, MoneyAccumulator> mine = totals.computeIfAbsent(key, k -> new HashMap<>(4));
+            byCurrency.forEach((currency, acc) -> {
+                MoneyAccumulator existing = mine.putIfAbsent(currency, acc);
+                if (existing != null) existing.merge(acc);
+            });
+        });
+        return this;
+    }
+
+    public void mergeKey(K from, K into) {
+        Map<CurrencyCode, MoneyAccumulator> source = totals.get(from);
+        if (source == null) return;
+        Map<CurrencyCode, MoneyAccumulator> target = totals.computeIfAbsent(into, k -> new HashMap<>(4));
+        source.forEach((currency, acc) -> target.computeIfAbsent(currency, MoneyAccumulator::new).merge(acc));
+    }
+
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(totals.keySet());
+    }
+
+    public Collection<Money> get(K key) {
+        Map<CurrencyCode, MoneyAccumulator> byCurrency = totals.get(key);
+        if (byCurrency == null) return Collections.emptyList();
+        List<Money> result = new ArrayList<>(byCurrency.size());
+        byCurrency.values().forEach(acc -> result.add(acc.toMoney()));
+        return result;
+    }
+
+    public Optional<Money> get(K key, String currency) {
+        Map<CurrencyCode, MoneyAccumulator> byCurrency = totals.get(key);
+        if (byCurrency == null) return Optional.empty();
+        MoneyAccumulator acc = byCurrency.get(CurrencyCode.of(currency));
+        return acc == null ? Optional.empty() : Optional.of(acc.toMoney());
+    }
+
+    private MoneyAccumulator accumulator(K key, Money money) {
+        return totals.computeIfAbsent(key, k -> new HashMap<>(4))
+                .computeIfAbsent(money.getCurrencyCode(), MoneyAccumulator::new);
+    }
+}
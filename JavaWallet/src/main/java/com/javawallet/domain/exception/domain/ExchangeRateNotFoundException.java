@@ -0,0 +1,7 @@
+package com.javawallet.domain.exception.domain;
+
+public class ExchangeRateNotFoundException extends DomainException {
+    public ExchangeRateNotFoundException(String from, String to, Object asOf) {
+        super("No exchange rate from " + from + " to " + to + " as of " + asOf);
+    }
+}
@@ -0,0 +1,7 @@
+package com.javawallet.domain.exception.object;
+
+public class DuplicateTransactionException extends ObjectException {
+    public DuplicateTransactionException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,16 @@
 package com.javawallet.domain.factory;
 
 import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.Transaction;
 import com.javawallet.domain.model.Wallet;
 import com.javawallet.domain.model.WalletType;
 
+import java.util.Collection;
+import java.util.UUID;
+
 public interface IWalletFactory {
 
     Wallet create(String name, WalletType type, Money initialBalance);
-}
\ No newline at end of file
+
+    Wallet restore(UUID id, String name, WalletType type, Money balance, Collection<Transaction> transactions);
+}
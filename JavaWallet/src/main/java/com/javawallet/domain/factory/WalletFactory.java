@@ -1,40 +1,99 @@
 package com.javawallet.domain.factory;
 
+import com.javawallet.domain.model.HeapTransactionStore;
+import com.javawallet.domain.model.ITransactionStore;
 import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.Transaction;
 import com.javawallet.domain.model.Wallet;
 import com.javawallet.domain.model.WalletType;
-import com.javawallet.domain.strategy.IRuleStrategy;
 import com.javawallet.domain.strategy.NegativeBalanceNotAllowed;
+import com.javawallet.domain.strategy.RuleSet;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 public class WalletFactory implements IWalletFactory{
-    public Wallet create(String name, WalletType type, Money initialBalance) {
-
-        Collection<IRuleStrategy> rules = new ArrayList<>();
+    private final Map<WalletType, RuleSet> ruleSets;
+    private final Supplier<ITransactionStore> transactionStores;
 
-        switch (type) {
-            case DEBITCARD:
-                rules.add(new NegativeBalanceNotAllowed());
-                break;
+    public WalletFactory() {
+        this(defaultRuleSets());
+    }
 
-            case CHECKINGACCOUNT:
-                break;
+    public WalletFactory(Map<WalletType, RuleSet> ruleSets) {
+        this(ruleSets, HeapTransactionStore::new);
+    }
 
-            case CREDITCARD:
-                break;
+    // E.g. ColumnarTransactionStore::new to keep large histories compact.
+    public WalletFactory(Supplier<ITransactionStore> transactionStores) {
+        this(defaultRuleSets(), transactionStores);
+    }
 
-            default:
-                throw new IllegalArgumentException("Unsupported wallet type: " + type);
+    public WalletFactory(Map<WalletType, RuleSet> ruleSets, Supplier<ITransactionStore> transactionStores) {
+        this.transactionStores = transactionStores;
+        this.ruleSets = new EnumMap<>(WalletType.class);
+        for (WalletType type : WalletType.values()) {
+            this.ruleSets.put(type, ruleSets.getOrDefault(type, RuleSet.empty()));
         }
+    }
 
+    public Wallet create(String name, WalletType type, Money initialBalance) {
         return new Wallet(
+                UUID.randomUUID(),
                 name,
                 type,
                 initialBalance,
-                rules,
-                new ArrayList<>()
+                rulesFor(type),
+                new ArrayList<>(),
+                transactionStores.get()
+        );
+    }
+
+    public Wallet restore(UUID id, String name, WalletType type, Money balance, Collection<Transaction> transactions) {
+        Wallet wallet = new Wallet(
+                id,
+                name,
+                type,
+                balance,
+                rulesFor(type),
+                new ArrayList<>(transactions),
+                transactionStores.get()
         );
+        wallet.restoreRuleState();
+        return wallet;
+    }
+
+    public RuleSet rulesFor(WalletType type) {
+        RuleSet rules = ruleSets.get(type);
+        if (rules == null) throw new IllegalArgumentException("Unsupported wallet type: " + type);
+        return rules;
+    }
+
+    private static Map<WalletType, RuleSet> defaultRuleSets() {
+
+        Map<WalletType, RuleSet> rules = new EnumMap<>(WalletType.class);
+
+        for (WalletType type : WalletType.values()) {
+            switch (type) {
+                case DEBITCARD:
+                    rules.put(type, RuleSet.of(new NegativeBalanceNotAllowed()));
+                    break;
+
+                case CHECKINGACCOUNT:
+                    break;
+
+                case CREDITCARD:
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unsupported wallet type: " + type);
+            }
+        }
+
+        return rules;
     }
 }
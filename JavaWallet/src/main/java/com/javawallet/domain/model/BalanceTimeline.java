@@ -0,0 +1,343 @@
+package com.javawallet.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Date-ordered treap of balance deltas; every node keeps the sum and the min/max prefix of its subtree.
+// Undated transactions sort before everything else. Nodes hold primitives, plus a BigDecimal for the
+// rare amount that does not fit in minor units, so the timeline does not keep a wallet's Transaction,
+// UUID, Money or date objects alive. Nodes are found by their (date, id) key, which is stable because
+// a transaction's date cannot change once it is in a wallet.
+final class BalanceTimeline {
+    private Node root;
+    private int size;
+    // Sum of |delta| over all long-sized deltas; while it fits no subtree sum can overflow.
+    private long magnitude;
+    private int oversized;
+
+    void add(Transaction t) {
+        Node node = new Node(t);
+        if (find(node) != null) return;
+        size++;
+        if (node.exact) {
+            try {
+                magnitude = Math.addExact(magnitude, Math.abs(node.delta));
+            } catch (ArithmeticException e) {
+                node.exact = false;
+                node.delta = 0;
+            }
+        }
+        if (!node.exact) oversized++;
+        root = insert(root, node);
+    }
+
+    void remove(Transaction t) {
+        Node node = find(new Node(t));
+        if (node == null) return;
+        size--;
+        if (node.exact) magnitude -= Math.abs(node.delta);
+        else oversized--;
+        root = delete(root, node);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private Node find(Node key) {
+        Node node = root;
+        while (node != null) {
+            int c = compare(key, node);
+            if (c == 0) return node;
+            node = c < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    // A null time means "latest", the way a null from/to leaves a range open, so it yields the current balance.
+    Money balanceAt(Money current, LocalDateTime time) {
+        Instant at = instant(time);
+        if (fast(current)) {
+            try {
+                return minor(Math.subtractExact(current.getMinorUnits(), after(root, at)), current);
+            } catch (ArithmeticException ignored) {
+            }
+        }
+        BigDecimal after = BigDecimal.ZERO;
+        for (Node n : inOrder()) {
+            if (isAfter(n, at)) after = after.add(n.exactDelta());
+        }
+        return Money.of(current.getAmount().subtract(after), current.getCurrency());
+    }
+
+    Money minBalance(Money current, LocalDateTime from, LocalDateTime to) {
+        return extreme(current, from, to, true);
+    }
+
+    Money maxBalance(Money current, LocalDateTime from, LocalDateTime to) {
+        return extreme(current, from, to, false);
+    }
+
+    private Money extreme(Money current, LocalDateTime fromTime, LocalDateTime toTime, boolean min) {
+        Instant from = instant(fromTime);
+        Instant to = instant(toTime);
+        if (fast(current)) {
+            try {
+                Agg before = suffix(root, from);
+                long start = Math.subtractExact(current.getMinorUnits(), before == null ? 0 : before.sum);
+                Agg range = range(root, from, to);
+                long best = range == null ? 0 : min ? Math.min(0, range.min) : Math.max(0, range.max);
+                return minor(Math.addExact(start, best), current);
+            } catch (ArithmeticException ignored) {
+            }
+        }
+        BigDecimal start = current.getAmount();
+        for (Node n : inOrder()) {
+            if (atOrAfter(n, from)) start = start.subtract(n.exactDelta());
+        }
+        BigDecimal running = start;
+        BigDecimal best = start;
+        for (Node n : inOrder()) {
+            if (!atOrAfter(n, from) || !atOrBefore(n, to)) continue;
+            running = running.add(n.exactDelta());
+            if (min ? running.compareTo(best) < 0 : running.compareTo(best) > 0) best = running;
+        }
+        return Money.of(best, current.getCurrency());
+    }
+
+    private boolean fast(Money current) {
+        return oversized == 0 && current.hasMinorUnits();
+    }
+
+    private static Money minor(long units, Money current) {
+        return Money.ofMinor(units, current.getCurrency());
+    }
+
+    // Sum of deltas dated strictly after the given instant.
+    private static long after(Node node, Instant at) {
+        long sum = 0;
+        while (node != null) {
+            if (isAfter(node, at)) {
+                sum += node.delta + sum(node.right);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return sum;
+    }
+
+    private static Agg range(Node node, Instant from, Instant to) {
+        while (node != null) {
+            if (!atOrAfter(node, from)) node = node.right;
+            else if (!atOrBefore(node, to)) node = node.left;
+            else return Agg.concat(Agg.concat(suffix(node.left, from), Agg.self(node)), prefix(node.right, to));
+        }
+        return null;
+    }
+
+    // Aggregate of the nodes dated at or after from, in order.
+    private static Agg suffix(Node node, Instant from) {
+        if (node == null) return null;
+        if (!atOrAfter(node, from)) return suffix(node.right, from);
+        return Agg.concat(Agg.concat(suffix(node.left, from), Agg.self(node)), Agg.of(node.right));
+    }
+
+    // Aggregate of the nodes dated at or before to, in order.
+    private static Agg prefix(Node node, Instant to) {
+        if (node == null) return null;
+        if (!atOrBefore(node, to)) return prefix(node.left, to);
+        return Agg.concat(Agg.concat(Agg.of(node.left), Agg.self(node)), prefix(node.right, to));
+    }
+
+    private static boolean isAfter(Node node, Instant at) {
+        return at != null && node.dated && compareTime(node, at) > 0;
+    }
+
+    private static boolean atOrAfter(Node node, Instant from) {
+        return from == null || (node.dated && compareTime(node, from) >= 0);
+    }
+
+    private static boolean atOrBefore(Node node, Instant to) {
+        return to == null || !node.dated || compareTime(node, to) <= 0;
+    }
+
+    private static int compareTime(Node node, Instant at) {
+        int bySecond = Long.compare(node.second, at.getEpochSecond());
+        return bySecond != 0 ? bySecond : Integer.compare(node.nano, at.getNano());
+    }
+
+    private static Instant instant(LocalDateTime time) {
+        return time == null ? null : time.toInstant(ZoneOffset.UTC);
+    }
+
+    private Iterable<Node> inOrder() {
+        Deque<Node> result = new ArrayDeque<>(size);
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(node);
+            node = node.right;
+        }
+        return result;
+    }
+
+    private static Node insert(Node node, Node n) {
+        if (node == null) return n;
+        if (n.priority > node.priority) {
+            Node[] parts = split(node, n);
+            n.left = parts[0];
+            n.right = parts[1];
+            return pull(n);
+        }
+        if (compare(n, node) < 0) node.left = insert(node.left, n);
+        else node.right = insert(node.right, n);
+        return pull(node);
+    }
+
+    private static Node delete(Node node, Node n) {
+        if (node == null) return null;
+        if (node == n) return merge(node.left, node.right);
+        if (compare(n, node) < 0) node.left = delete(node.left, n);
+        else node.right = delete(node.right, n);
+        return pull(node);
+    }
+
+    // Splits into keys before n and keys after n.
+    private static Node[] split(Node node, Node n) {
+        if (node == null) return new Node[]{null, null};
+        if (compare(node, n) < 0) {
+            Node[] parts = split(node.right, n);
+            node.right = parts[0];
+            parts[0] = pull(node);
+            return parts;
+        }
+        Node[] parts = split(node.left, n);
+        node.left = parts[1];
+        parts[1] = pull(node);
+        return parts;
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return pull(a);
+        }
+        b.left = merge(a, b.left);
+        return pull(b);
+    }
+
+    private static Node pull(Node node) {
+        long left = sum(node.left);
+        long upToSelf = left + node.delta;
+        long min = upToSelf;
+        long max = upToSelf;
+        if (node.left != null) {
+            min = Math.min(min, node.left.min);
+            max = Math.max(max, node.left.max);
+        }
+        if (node.right != null) {
+            min = Math.min(min, upToSelf + node.right.min);
+            max = Math.max(max, upToSelf + node.right.max);
+        }
+        node.sum = upToSelf + sum(node.right);
+        node.min = min;
+        node.max = max;
+        return node;
+    }
+
+    private static long sum(Node node) {
+        return node == null ? 0 : node.sum;
+    }
+
+    // Same order as (date, id) with undated first; ids compare like UUID.compareTo.
+    private static int compare(Node a, Node b) {
+        if (a.dated != b.dated) return a.dated ? 1 : -1;
+        if (a.dated) {
+            int bySecond = Long.compare(a.second, b.second);
+            if (bySecond != 0) return bySecond;
+            int byNano = Integer.compare(a.nano, b.nano);
+            if (byNano != 0) return byNano;
+        }
+        int byHigh = Long.compare(a.idHigh, b.idHigh);
+        return byHigh != 0 ? byHigh : Long.compare(a.idLow, b.idLow);
+    }
+
+    private static int sign(Transaction t) {
+        return t.getType() == TransactionType.WITHDRAWAL ? -1 : 1;
+    }
+
+    private static final class Node {
+        private final long idHigh;
+        private final long idLow;
+        private final boolean dated;
+        private final long second;
+        private final int nano;
+        private final long units;
+        // Only set when the amount does not fit in minor units.
+        private final BigDecimal big;
+        private final int signum;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private boolean exact;
+        private long delta;
+        private long sum;
+        private long min;
+        private long max;
+        private Node left;
+        private Node right;
+
+        private Node(Transaction t) {
+            UUID id = t.getId();
+            this.idHigh = id.getMostSignificantBits();
+            this.idLow = id.getLeastSignificantBits();
+            LocalDateTime date = t.getDate();
+            this.dated = date != null;
+            this.second = dated ? date.toEpochSecond(ZoneOffset.UTC) : 0;
+            this.nano = dated ? date.getNano() : 0;
+            Money money = t.getMoney();
+            this.units = money.hasMinorUnits() ? money.getMinorUnits() : 0;
+            this.big = money.hasMinorUnits() ? null : money.getAmount();
+            this.signum = sign(t);
+            this.exact = big == null && units != Long.MIN_VALUE;
+            this.delta = exact ? signum * units : 0;
+            this.sum = delta;
+            this.min = delta;
+            this.max = delta;
+        }
+
+        private BigDecimal exactDelta() {
+            BigDecimal amount = big != null ? big : BigDecimal.valueOf(units, Money.SCALE);
+            return signum < 0 ? amount.negate() : amount;
+        }
+    }
+
+    private record Agg(long sum, long min, long max) {
+        private static Agg of(Node node) {
+            if (node == null) return null;
+            return new Agg(node.sum, node.min, node.max);
+        }
+
+        private static Agg self(Node node) {
+            return new Agg(node.delta, node.delta, node.delta);
+        }
+
+        private static Agg concat(Agg a, Agg b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            return new Agg(a.sum + b.sum, Math.min(a.min, a.sum + b.min), Math.max(a.max, a.sum + b.max));
+        }
+    }
+}
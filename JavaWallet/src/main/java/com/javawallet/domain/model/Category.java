@@ -9,19 +9,23 @@ public class Category implements IVisitable {
     private final UUID id;
     private final String name;
     private Category parent;
-    private final Collection<Category> children;
+    private final Map<UUID, Category> children;
 
     public Category(String name) {
-        this.id = UUID.randomUUID();
+        this(UUID.randomUUID(), name);
+    }
+
+    public Category(UUID id, String name) {
+        this.id = id;
         this.name = name;
         this.parent = null;
-        this.children = new ArrayList<>();
+        this.children = new LinkedHashMap<>();
     }
 
     public UUID getId() { return id; }
     public String getName() { return name; }
     public Category getParent() { return parent; }
-    public Collection<Category> getChildren() { return Collections.unmodifiableCollection(this.children); }
+    public Collection<Category> getChildren() { return Collections.unmodifiableCollection(this.children.values()); }
 
     private void setParent(Category parent) {
         this.parent = parent;
@@ -32,19 +36,25 @@ public class Category implements IVisitable {
         return "Category{" +
                 "id=" + id +
                 ", name='" + name + '\'' +
-                ", parent=" + parent +
-                ", children=" + Arrays.toString(children.toArray()) +
+                ", parent=" + (parent == null ? null : parent.getName()) +
+                ", children=" + children.size() +
                 '}';
     }
 
     public UUID addSubcategory(String name ) {
         Category c = new Category(name);
-        c.setParent(this);
-        this.children.add(c);
+        addSubcategory(c);
         return c.id;
     }
+    public void addSubcategory(Category c) {
+        c.setParent(this);
+        this.children.put(c.getId(), c);
+    }
     public boolean removeSubcategory(UUID id, String name) {
-        return this.children.removeIf(c -> c.getId().equals(id) && c.getName().equals(name));
+        Category c = this.children.get(id);
+        if (c == null || !c.getName().equals(name)) return false;
+        this.children.remove(id);
+        return true;
     }
 
     @Override
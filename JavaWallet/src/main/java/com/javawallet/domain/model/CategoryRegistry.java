@@ -0,0 +1,137 @@
+package com.javawallet.domain.model;
+
+import java.util.*;
+
+// Immutable snapshot of a category forest laid out in pre-order: the subtree of the category at
+// slot i occupies slots [i, end[i]), so membership is an interval check and descendants a sublist.
+public final class CategoryRegistry {
+    private final Map<UUID, Integer> slots;
+    private final Category[] order;
+    private final int[] end;
+    private final int[] parent;
+
+    private CategoryRegistry(Map<UUID, Integer> slots, Category[] order, int[] end, int[] parent) {
+        this.slots = slots;
+        this.order = order;
+        this.end = end;
+        this.parent = parent;
+    }
+
+    // Children lists decide the tree. A category no known category lists is a root, even if its parent
+    // field still names the category it was removed from, so every category reachable from the input
+    // gets a slot.
+    public static CategoryRegistry of(Collection<Category> categories) {
+        Map<UUID, Category> known = new LinkedHashMap<>();
+        Set<UUID> listed = new HashSet<>();
+        Deque<Category> pending = new ArrayDeque<>(categories);
+        while (!pending.isEmpty()) {
+            Category c = pending.pop();
+            if (known.putIfAbsent(c.getId(), c) != null) continue;
+            for (Category child : c.getChildren()) {
+                listed.add(child.getId());
+                pending.add(child);
+            }
+        }
+
+        List<Category> order = new ArrayList<>(known.size());
+        List<Integer> parents = new ArrayList<>(known.size());
+        List<Integer> ends = new ArrayList<>(known.size());
+        Map<UUID, Integer> slots = new HashMap<>(known.size() * 2);
+        for (Category c : known.values()) {
+            if (!listed.contains(c.getId())) layout(c, order, parents, ends, slots);
+        }
+        // Only a cycle in the children lists leaves categories unplaced; lay them out as roots too.
+        for (Category c : known.values()) {
+            if (!slots.containsKey(c.getId())) layout(c, order, parents, ends, slots);
+        }
+
+        int[] parent = new int[order.size()];
+        int[] end = new int[order.size()];
+        for (int i = 0; i < order.size(); i++) {
+            parent[i] = parents.get(i);
+            end[i] = ends.get(i);
+        }
+        return new CategoryRegistry(slots, order.toArray(new Category[0]), end, parent);
+    }
+
+    private static void layout(Category root, List<Category> order, List<Integer> parents, List<Integer> ends, Map<UUID, Integer> slots) {
+        Deque<int[]> stack = new ArrayDeque<>();
+        Deque<Iterator<Category>> children = new ArrayDeque<>();
+        stack.push(new int[]{enter(root, -1, order, parents, ends, slots)});
+        children.push(root.getChildren().iterator());
+        while (!stack.isEmpty()) {
+            Iterator<Category> it = children.peek();
+            if (it.hasNext()) {
+                Category child = it.next();
+                if (slots.containsKey(child.getId())) continue;
+                stack.push(new int[]{enter(child, stack.peek()[0], order, parents, ends, slots)});
+                children.push(child.getChildren().iterator());
+            } else {
+                ends.set(stack.pop()[0], order.size());
+                children.pop();
+            }
+        }
+    }
+
+    private static int enter(Category c, int parent, List<Category> order, List<Integer> parents, List<Integer> ends, Map<UUID, Integer> slots) {
+        int slot = order.size();
+        slots.put(c.getId(), slot);
+        order.add(c);
+        parents.add(parent);
+        ends.add(slot + 1);
+        return slot;
+    }
+
+    public Optional<Category> get(UUID id) {
+        Integer slot = slots.get(id);
+        return slot == null ? Optional.empty() : Optional.of(order[slot]);
+    }
+
+    public boolean contains(UUID id) {
+        return slots.containsKey(id);
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    public boolean isUnder(UUID id, UUID ancestorId) {
+        Integer slot = slots.get(id);
+        Integer ancestor = slots.get(ancestorId);
+        if (slot == null || ancestor == null) return false;
+        return ancestor <= slot && slot < end[ancestor];
+    }
+
+    public boolean isUnder(Category category, UUID ancestorId) {
+        return category != null && isUnder(category.getId(), ancestorId);
+    }
+
+    public List<Category> subtree(UUID id) {
+        Integer slot = slots.get(id);
+        if (slot == null) return Collections.emptyList();
+        return Collections.unmodifiableList(Arrays.asList(order).subList(slot, end[slot]));
+    }
+
+    public List<Category> descendants(UUID id) {
+        Integer slot = slots.get(id);
+        if (slot == null) return Collections.emptyList();
+        return Collections.unmodifiableList(Arrays.asList(order).subList(slot + 1, end[slot]));
+    }
+
+    public Optional<Category> parentOf(UUID id) {
+        Integer slot = slots.get(id);
+        if (slot == null || parent[slot] < 0) return Optional.empty();
+        return Optional.of(order[parent[slot]]);
+    }
+
+    public List<Category> roots() {
+        List<Category> result = new ArrayList<>();
+        for (int i = 0; i < order.length; i = end[i]) result.add(order[i]);
+        return result;
+    }
+
+    // Categories in pre-order, parents before children.
+    public List<Category> categories() {
+        return Collections.unmodifiableList(Arrays.asList(order));
+    }
+}
@@ -0,0 +1,243 @@
+package com.javawallet.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+// Keeps history column by column in primitive arrays: the id as two longs, amounts in minor units,
+// dates as epoch second + nano, currency as its CurrencyCode index, categories through a per-store
+// dictionary and type plus flags in one byte. A row costs about 60 bytes instead of the several
+// hundred held by a Transaction and the objects it references. get() and values() materialize
+// read-only Transaction views on demand; their setters throw rather than lose the change.
+// Removed rows stay in place as tombstones until they outnumber the live ones, then the columns are compacted.
+public class ColumnarTransactionStore implements ITransactionStore {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte TYPE_MASK = 0x0F;
+    private static final byte BIG_AMOUNT = 0x10;
+    private static final byte UNDATED = 0x20;
+    private static final byte REMOVED = 0x40;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private long[] idHigh = new long[INITIAL_CAPACITY];
+    private long[] idLow = new long[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    private long[] seconds = new long[INITIAL_CAPACITY];
+    private int[] nanos = new int[INITIAL_CAPACITY];
+    private int[] currencies = new int[INITIAL_CAPACITY];
+    private int[] categories = new int[INITIAL_CAPACITY];
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+    private String[] notes = new String[INITIAL_CAPACITY];
+    // Amounts that do not fit in minor units; rare, so kept aside rather than in a column.
+    private final Map<Integer, BigDecimal> bigAmounts = new HashMap<>();
+    private final List<Category> categoryDictionary = new ArrayList<>();
+    private final Map<Category, Integer> categoryCodes = new IdentityHashMap<>();
+
+    // Open-addressing id index holding row + 1; 0 marks an empty slot.
+    private int[] index = new int[INITIAL_CAPACITY * 2];
+    private int rows;
+    private int live;
+    private int modCount;
+
+    @Override
+    public void put(Transaction t) {
+        int existing = find(t.getId());
+        if (existing >= 0) markRemoved(existing);
+        if (rows == flags.length) grow();
+        int row = rows++;
+        UUID id = t.getId();
+        idHigh[row] = id.getMostSignificantBits();
+        idLow[row] = id.getLeastSignificantBits();
+        Money money = t.getMoney();
+        byte f = (byte) t.getType().ordinal();
+        if (money.hasMinorUnits()) {
+            amounts[row] = money.getMinorUnits();
+        } else {
+            amounts[row] = 0;
+            bigAmounts.put(row, money.getAmount());
+            f |= BIG_AMOUNT;
+        }
+        currencies[row] = money.getCurrencyCode().getIndex();
+        LocalDateTime date = t.getDate();
+        if (date == null) {
+            seconds[row] = 0;
+            nanos[row] = 0;
+            f |= UNDATED;
+        } else {
+            seconds[row] = date.toEpochSecond(ZoneOffset.UTC);
+            nanos[row] = date.getNano();
+        }
+        categories[row] = encode(t.getCategory());
+        notes[row] = t.getNote();
+        flags[row] = f;
+        live++;
+        modCount++;
+        insertIndex(row);
+    }
+
+    @Override
+    public boolean remove(UUID id) {
+        int row = find(id);
+        if (row < 0) return false;
+        markRemoved(row);
+        modCount++;
+        if (rows > INITIAL_CAPACITY && rows - live > live) compact();
+        return true;
+    }
+
+    @Override
+    public Transaction get(UUID id) {
+        int row = find(id);
+        return row < 0 ? null : materialize(row);
+    }
+
+    @Override
+    public int size() {
+        return live;
+    }
+
+    @Override
+    public Collection<Transaction> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Transaction> iterator() {
+                return new RowIterator();
+            }
+
+            @Override
+            public int size() {
+                return live;
+            }
+        };
+    }
+
+    private Transaction materialize(int row) {
+        byte f = flags[row];
+        String currency = CurrencyCode.byIndex(currencies[row]).getCode();
+        Money money = (f & BIG_AMOUNT) != 0
+                ? Money.of(bigAmounts.get(row), currency)
+                : Money.ofMinor(amounts[row], currency);
+        LocalDateTime date = (f & UNDATED) != 0 ? null : LocalDateTime.ofEpochSecond(seconds[row], nanos[row], ZoneOffset.UTC);
+        int category = categories[row];
+        return new Transaction(
+                new UUID(idHigh[row], idLow[row]),
+                money,
+                TYPES[f & TYPE_MASK],
+                category < 0 ? null : categoryDictionary.get(category),
+                date,
+                notes[row],
+                true);
+    }
+
+    private int encode(Category category) {
+        if (category == null) return -1;
+        Integer code = categoryCodes.get(category);
+        if (code != null) return code;
+        categoryDictionary.add(category);
+        categoryCodes.put(category, categoryDictionary.size() - 1);
+        return categoryDictionary.size() - 1;
+    }
+
+    private void markRemoved(int row) {
+        flags[row] |= REMOVED;
+        notes[row] = null;
+        bigAmounts.remove(row);
+        live--;
+    }
+
+    private int find(UUID id) {
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        int mask = index.length - 1;
+        for (int slot = hash(high, low) & mask; ; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == 0) return -1;
+            int row = entry - 1;
+            if (idHigh[row] == high && idLow[row] == low && (flags[row] & REMOVED) == 0) return row;
+        }
+    }
+
+    private void insertIndex(int row) {
+        int mask = index.length - 1;
+        int slot = hash(idHigh[row], idLow[row]) & mask;
+        while (index[slot] != 0) slot = (slot + 1) & mask;
+        index[slot] = row + 1;
+    }
+
+    private static int hash(long high, long low) {
+        long h = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void grow() {
+        int capacity = flags.length * 2;
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        seconds = Arrays.copyOf(seconds, capacity);
+        nanos = Arrays.copyOf(nanos, capacity);
+        currencies = Arrays.copyOf(currencies, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        notes = Arrays.copyOf(notes, capacity);
+        rebuildIndex(capacity * 2);
+    }
+
+    // Squeezes out removed rows, keeping insertion order, and rebuilds the index without tombstones.
+    private void compact() {
+        int target = 0;
+        Map<Integer, BigDecimal> movedBig = new HashMap<>();
+        for (int row = 0; row < rows; row++) {
+            if ((flags[row] & REMOVED) != 0) continue;
+            if (target != row) {
+                idHigh[target] = idHigh[row];
+                idLow[target] = idLow[row];
+                amounts[target] = amounts[row];
+                seconds[target] = seconds[row];
+                nanos[target] = nanos[row];
+                currencies[target] = currencies[row];
+                categories[target] = categories[row];
+                flags[target] = flags[row];
+                notes[target] = notes[row];
+            }
+            if ((flags[target] & BIG_AMOUNT) != 0) movedBig.put(target, bigAmounts.get(row));
+            target++;
+        }
+        Arrays.fill(notes, target, rows, null);
+        bigAmounts.clear();
+        bigAmounts.putAll(movedBig);
+        rows = target;
+        rebuildIndex(index.length);
+    }
+
+    private void rebuildIndex(int size) {
+        index = new int[size];
+        for (int row = 0; row < rows; row++) {
+            if ((flags[row] & REMOVED) == 0) insertIndex(row);
+        }
+    }
+
+    private final class RowIterator implements Iterator<Transaction> {
+        private final int expectedModCount = modCount;
+        private int row = advance(0);
+
+        private int advance(int from) {
+            while (from < rows && (flags[from] & REMOVED) != 0) from++;
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return row < rows;
+        }
+
+        @Override
+        public Transaction next() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (row >= rows) throw new NoSuchElementException();
+            Transaction t = materialize(row);
+            row = advance(row + 1);
+            return t;
+        }
+    }
+}
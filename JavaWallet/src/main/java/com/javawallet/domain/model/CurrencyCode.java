@@ -0,0 +1,47 @@
+package com.javawallet.domain.model;
+
+import com.javawallet.domain.exception.domain.InvalidCurrencyException;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public final class CurrencyCode {
+    private static final ConcurrentMap<String, CurrencyCode> CODES = new ConcurrentHashMap<>();
+    private static final List<CurrencyCode> BY_INDEX = new CopyOnWriteArrayList<>();
+
+    private final String code;
+    private final int index;
+
+    private CurrencyCode(String code, int index) {
+        this.code = code;
+        this.index = index;
+    }
+
+    public static CurrencyCode of(String code) {
+        if (code == null) throw new InvalidCurrencyException("currency must not be null");
+        CurrencyCode c = CODES.get(code);
+        return c != null ? c : CODES.computeIfAbsent(code, CurrencyCode::register);
+    }
+
+    public static CurrencyCode byIndex(int index) {
+        return BY_INDEX.get(index);
+    }
+
+    public static int count() {
+        return BY_INDEX.size();
+    }
+
+    private static synchronized CurrencyCode register(String code) {
+        CurrencyCode c = new CurrencyCode(code, BY_INDEX.size());
+        BY_INDEX.add(c);
+        return c;
+    }
+
+    public String getCode() { return code; }
+    public int getIndex() { return index; }
+
+    @Override
+    public String toString() { return code; }
+}
@@ -0,0 +1,92 @@
+package com.javawallet.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+// Converts into one target currency at one as-of date. Factors are resolved once per source
+// currency and cached by currency index. Consolidation first sums amounts per source currency in
+// minor units and converts each subtotal once, rounding only the final result.
+public final class CurrencyConverter {
+    private final ExchangeRateTable table;
+    private final CurrencyCode target;
+    private final LocalDate asOf;
+    private volatile BigDecimal[] factors = new BigDecimal[0];
+
+    CurrencyConverter(ExchangeRateTable table, CurrencyCode target, LocalDate asOf) {
+        this.table = table;
+        this.target = target;
+        this.asOf = asOf;
+    }
+
+    public CurrencyCode getTarget() { return target; }
+    public LocalDate getAsOf() { return asOf; }
+    public long getTableVersion() { return table.getVersion(); }
+
+    public Money convert(Money money) {
+        if (money.getCurrencyCode() == target) return money;
+        return Money.of(money.getAmount().multiply(factor(money.getCurrencyCode()), ExchangeRateTable.PRECISION), target.getCode());
+    }
+
+    public List<Money> convertAll(Collection<Money> amounts) {
+        List<Money> converted = new ArrayList<>(amounts.size());
+        for (Money money : amounts) converted.add(convert(money));
+        return converted;
+    }
+
+    public Money consolidate(Iterable<Money> amounts) {
+        int count = CurrencyCode.count();
+        long[] units = new long[count];
+        BigDecimal[] overflow = null;
+        for (Money money : amounts) {
+            int i = money.getCurrencyCode().getIndex();
+            if (money.hasMinorUnits()) {
+                long v = money.getMinorUnits();
+                long r = units[i] + v;
+                if (((units[i] ^ r) & (v ^ r)) >= 0) {
+                    units[i] = r;
+                    continue;
+                }
+            }
+            if (overflow == null) overflow = new BigDecimal[count];
+            overflow[i] = (overflow[i] == null ? BigDecimal.ZERO : overflow[i]).add(money.getAmount());
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < count; i++) {
+            BigDecimal subtotal = overflow == null || overflow[i] == null ? null : overflow[i];
+            if (units[i] != 0) {
+                BigDecimal minor = BigDecimal.valueOf(units[i], Money.SCALE);
+                subtotal = subtotal == null ? minor : subtotal.add(minor);
+            }
+            if (subtotal == null || subtotal.signum() == 0) continue;
+            total = total.add(subtotal.multiply(factor(CurrencyCode.byIndex(i)), ExchangeRateTable.PRECISION));
+        }
+        return Money.of(total.setScale(Money.SCALE, RoundingMode.HALF_EVEN), target.getCode());
+    }
+
+    // Net worth of the given wallets in the target currency.
+    public Money netWorth(Collection<Wallet> wallets) {
+        List<Money> balances = new ArrayList<>(wallets.size());
+        wallets.forEach(w -> balances.add(w.getBalance()));
+        return consolidate(balances);
+    }
+
+    private BigDecimal factor(CurrencyCode currency) {
+        if (currency == target) return BigDecimal.ONE;
+        int i = currency.getIndex();
+        BigDecimal[] cached = factors;
+        if (i < cached.length && cached[i] != null) return cached[i];
+        BigDecimal factor = table.rate(currency, target, asOf);
+        synchronized (this) {
+            BigDecimal[] current = factors;
+            BigDecimal[] grown = current.length > i ? current.clone() : Arrays.copyOf(current, CurrencyCode.count());
+            grown[i] = factor;
+            factors = grown;
+        }
+        return factor;
+    }
+}
@@ -0,0 +1,11 @@
+package com.javawallet.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One unit of `from` is worth `rate` units of `to`, from `date` until the next quote for the pair.
+public record ExchangeRate(CurrencyCode from, CurrencyCode to, LocalDate date, BigDecimal rate) {
+    public ExchangeRate {
+        if (rate == null || rate.signum() <= 0) throw new IllegalArgumentException("Exchange rate must be positive");
+    }
+}
@@ -0,0 +1,104 @@
+package com.javawallet.domain.model;
+
+import com.javawallet.domain.exception.domain.ExchangeRateNotFoundException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.*;
+
+// Immutable rate history quoted against one base currency. Each currency keeps its quotes as
+// parallel arrays sorted by day, so an as-of lookup is a binary search; cross rates go through the
+// base. Tables are versioned so converters built from an older table can be told apart.
+public final class ExchangeRateTable {
+    static final MathContext PRECISION = MathContext.DECIMAL128;
+
+    private final CurrencyCode base;
+    private final long version;
+    private final Quotes[] quotes;
+
+    private ExchangeRateTable(CurrencyCode base, long version, Quotes[] quotes) {
+        this.base = base;
+        this.version = version;
+        this.quotes = quotes;
+    }
+
+    public static ExchangeRateTable empty(String base) {
+        return new ExchangeRateTable(CurrencyCode.of(base), 0, new Quotes[0]);
+    }
+
+    // Rates must have the base on one side; a later rate for the same currency and day replaces an earlier one.
+    public static ExchangeRateTable of(String base, long version, Collection<ExchangeRate> rates) {
+        CurrencyCode baseCode = CurrencyCode.of(base);
+        Map<CurrencyCode, TreeMap<Long, BigDecimal>> byCurrency = new HashMap<>();
+        for (ExchangeRate r : rates) {
+            CurrencyCode currency;
+            BigDecimal inBase;
+            if (r.to() == baseCode && r.from() != baseCode) {
+                currency = r.from();
+                inBase = r.rate();
+            } else if (r.from() == baseCode && r.to() != baseCode) {
+                currency = r.to();
+                inBase = BigDecimal.ONE.divide(r.rate(), PRECISION);
+            } else {
+                throw new IllegalArgumentException("Rate " + r.from() + "/" + r.to() + " is not quoted against base " + baseCode);
+            }
+            byCurrency.computeIfAbsent(currency, c -> new TreeMap<>()).put(r.date().toEpochDay(), inBase);
+        }
+        int size = 0;
+        for (CurrencyCode c : byCurrency.keySet()) size = Math.max(size, c.getIndex() + 1);
+        Quotes[] quotes = new Quotes[size];
+        byCurrency.forEach((currency, series) -> quotes[currency.getIndex()] = new Quotes(series));
+        return new ExchangeRateTable(baseCode, version, quotes);
+    }
+
+    public CurrencyCode getBase() { return base; }
+    public long getVersion() { return version; }
+
+    // Value of one unit of `from` in `to`, using the latest quotes on or before `asOf`.
+    public BigDecimal rate(CurrencyCode from, CurrencyCode to, LocalDate asOf) {
+        if (from == to) return BigDecimal.ONE;
+        BigDecimal fromInBase = inBase(from, asOf);
+        BigDecimal toInBase = inBase(to, asOf);
+        if (fromInBase == null || toInBase == null) {
+            throw new ExchangeRateNotFoundException(from.getCode(), to.getCode(), asOf);
+        }
+        return fromInBase.divide(toInBase, PRECISION);
+    }
+
+    public boolean supports(CurrencyCode currency, LocalDate asOf) {
+        return inBase(currency, asOf) != null;
+    }
+
+    public CurrencyConverter converter(String target, LocalDate asOf) {
+        return new CurrencyConverter(this, CurrencyCode.of(target), asOf);
+    }
+
+    private BigDecimal inBase(CurrencyCode currency, LocalDate asOf) {
+        if (currency == base) return BigDecimal.ONE;
+        int index = currency.getIndex();
+        if (index >= quotes.length || quotes[index] == null) return null;
+        return quotes[index].asOf(asOf.toEpochDay());
+    }
+
+    private static final class Quotes {
+        private final long[] days;
+        private final BigDecimal[] rates;
+
+        private Quotes(TreeMap<Long, BigDecimal> series) {
+            this.days = new long[series.size()];
+            this.rates = new BigDecimal[series.size()];
+            int i = 0;
+            for (Map.Entry<Long, BigDecimal> e : series.entrySet()) {
+                days[i] = e.getKey();
+                rates[i++] = e.getValue();
+            }
+        }
+
+        private BigDecimal asOf(long day) {
+            int i = Arrays.binarySearch(days, day);
+            if (i < 0) i = -i - 2;
+            return i < 0 ? null : rates[i];
+        }
+    }
+}
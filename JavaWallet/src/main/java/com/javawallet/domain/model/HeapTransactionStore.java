@@ -0,0 +1,35 @@
+package com.javawallet.domain.model;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class HeapTransactionStore implements ITransactionStore {
+    private final Map<UUID, Transaction> transactions = new LinkedHashMap<>();
+
+    @Override
+    public void put(Transaction t) {
+        transactions.put(t.getId(), t);
+    }
+
+    @Override
+    public boolean remove(UUID id) {
+        return transactions.remove(id) != null;
+    }
+
+    @Override
+    public Transaction get(UUID id) {
+        return transactions.get(id);
+    }
+
+    @Override
+    public int size() {
+        return transactions.size();
+    }
+
+    @Override
+    public Collection<Transaction> values() {
+        return transactions.values();
+    }
+}
@@ -0,0 +1,16 @@
+package com.javawallet.domain.model;
+
+import java.util.Collection;
+import java.util.UUID;
+
+// Backing storage for a wallet's history, iterated in insertion order. Each wallet owns its store, which
+// is only touched while the constructor runs or with the wallet's monitor held (its synchronized
+// methods, and transfer/reverseTransfer under both wallets' monitors); readers outside get copies from
+// getTransactionsSnapshot(). Implementations need no locking of their own.
+public interface ITransactionStore {
+    void put(Transaction t);
+    boolean remove(UUID id);
+    Transaction get(UUID id);
+    int size();
+    Collection<Transaction> values();
+}
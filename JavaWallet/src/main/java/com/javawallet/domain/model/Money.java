@@ -5,16 +5,35 @@ import com.javawallet.domain.exception.domain.InvalidAmountException;
 import com.javawallet.domain.exception.domain.InvalidCurrencyException;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
-import java.util.Objects;
 
 public class Money implements Comparable<Money> {
+    public static final int SCALE = 2;
 
-    private final BigDecimal amount;
-    private final String currency;
+    // Amounts are kept as minor units in a long; big is only set when the value does not fit.
+    private final long units;
+    private final BigDecimal big;
+    private final CurrencyCode currency;
+    private BigDecimal amount;
 
-    private Money(BigDecimal amount, String currency) {
-        this.amount = amount.setScale(2, RoundingMode.HALF_EVEN);
+    private Money(long units, CurrencyCode currency) {
+        this.units = units;
+        this.big = null;
+        this.currency = currency;
+    }
+
+    private Money(BigDecimal amount, CurrencyCode currency) {
+        BigDecimal scaled = amount.setScale(SCALE, RoundingMode.HALF_EVEN);
+        BigInteger unscaled = scaled.unscaledValue();
+        if (unscaled.bitLength() < Long.SIZE) {
+            this.units = unscaled.longValue();
+            this.big = null;
+            this.amount = scaled;
+        } else {
+            this.units = 0;
+            this.big = scaled;
+        }
         this.currency = currency;
     }
 
@@ -25,37 +44,69 @@ public class Money implements Comparable<Money> {
         if (currency == null) {
             throw new InvalidCurrencyException("currency must not be null");
         }
-        return new Money(amount, currency);
+        return new Money(amount, CurrencyCode.of(currency));
+    }
+
+    public static Money ofMinor(long units, String currency) {
+        return new Money(units, CurrencyCode.of(currency));
     }
 
     public static Money zero(String currency) {
-        return new Money(BigDecimal.ZERO, currency);
+        return new Money(0L, CurrencyCode.of(currency));
     }
 
     Money add(Money other) {
         checkCurrency(other);
-        return new Money(this.amount.add(other.amount), this.currency);
+        if (this.big == null && other.big == null) {
+            long r = this.units + other.units;
+            if (((this.units ^ r) & (other.units ^ r)) >= 0) return new Money(r, this.currency);
+        }
+        return new Money(this.getAmount().add(other.getAmount()), this.currency);
     }
 
     Money subtract(Money other) {
         checkCurrency(other);
-        return new Money(this.amount.subtract(other.amount), this.currency);
+        if (this.big == null && other.big == null) {
+            long r = this.units - other.units;
+            if (((this.units ^ other.units) & (this.units ^ r)) >= 0) return new Money(r, this.currency);
+        }
+        return new Money(this.getAmount().subtract(other.getAmount()), this.currency);
     }
 
     public boolean isPositive() {
-        return this.amount.compareTo(BigDecimal.ZERO) > 0;
+        return big == null ? units > 0 : big.signum() > 0;
     }
 
     private void checkCurrency(Money other) {
-        if (!this.currency.equals(other.currency)) {
-            throw new CurrencyMismatchException(this.currency, other.currency);
+        if (this.currency != other.currency) {
+            throw new CurrencyMismatchException(this.currency.getCode(), other.currency.getCode());
         }
     }
 
     public BigDecimal getAmount() {
-        return amount;
+        if (big != null) return big;
+        BigDecimal a = amount;
+        if (a == null) {
+            a = BigDecimal.valueOf(units, SCALE);
+            amount = a;
+        }
+        return a;
+    }
+
+    public boolean hasMinorUnits() {
+        return big == null;
+    }
+
+    public long getMinorUnits() {
+        if (big != null) throw new ArithmeticException("Amount " + big + " does not fit in minor units");
+        return units;
     }
+
     public String getCurrency() {
+        return currency.getCode();
+    }
+
+    public CurrencyCode getCurrencyCode() {
         return currency;
     }
 
@@ -64,21 +115,25 @@ public class Money implements Comparable<Money> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Money money = (Money) o;
-        return this.currency.equals(money.currency) &&
-                this.amount.compareTo(money.amount) == 0;
+        if (this.currency != money.currency) return false;
+        return this.big == null
+                ? money.big == null && this.units == money.units
+                : this.big.equals(money.big);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(amount.doubleValue(), currency);
+        int h = big == null ? Long.hashCode(units) : big.hashCode();
+        return 31 * h + currency.hashCode();
     }
 
     @Override
-    public String toString() { return amount.toString() + " " + currency; }
+    public String toString() { return getAmount().toString() + " " + currency.getCode(); }
 
     @Override
     public int compareTo(Money o) {
         checkCurrency(o);
-        return this.amount.compareTo(o.amount);
+        if (this.big == null && o.big == null) return Long.compare(this.units, o.units);
+        return this.getAmount().compareTo(o.getAmount());
     }
-}
\ No newline at end of file
+}
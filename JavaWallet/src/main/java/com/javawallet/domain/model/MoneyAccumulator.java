@@ -0,0 +1,76 @@
+package com.javawallet.domain.model;
+
+import com.javawallet.domain.exception.domain.CurrencyMismatchException;
+
+import java.math.BigDecimal;
+
+public final class MoneyAccumulator {
+    private final CurrencyCode currency;
+    private long units;
+    private BigDecimal big;
+
+    public MoneyAccumulator(CurrencyCode currency) {
+        this.currency = currency;
+    }
+
+    public MoneyAccumulator add(Money money) {
+        checkCurrency(money);
+        if (big == null && money.hasMinorUnits()) {
+            long other = money.getMinorUnits();
+            long r = units + other;
+            if (((units ^ r) & (other ^ r)) >= 0) {
+                units = r;
+                return this;
+            }
+        }
+        big = total().add(money.getAmount());
+        return this;
+    }
+
+    public MoneyAccumulator subtract(Money money) {
+        checkCurrency(money);
+        if (big == null && money.hasMinorUnits()) {
+            long other = money.getMinorUnits();
+            long r = units - other;
+            if (((units ^ other) & (units ^ r)) >= 0) {
+                units = r;
+                return this;
+            }
+        }
+        big = total().subtract(money.getAmount());
+        return this;
+    }
+
+    public MoneyAccumulator merge(MoneyAccumulator other) {
+        if (this.currency != other.currency) {
+            throw new CurrencyMismatchException(this.currency.getCode(), other.currency.getCode());
+        }
+        if (big == null && other.big == null) {
+            long r = units + other.units;
+            if (((units ^ r) & (other.units ^ r)) >= 0) {
+                units = r;
+                return this;
+            }
+        }
+        big = total().add(other.total());
+        return this;
+    }
+
+    public CurrencyCode getCurrency() {
+        return currency;
+    }
+
+    public Money toMoney() {
+        return big == null ? Money.ofMinor(units, currency.getCode()) : Money.of(big, currency.getCode());
+    }
+
+    private BigDecimal total() {
+        return big != null ? big : BigDecimal.valueOf(units, Money.SCALE);
+    }
+
+    private void checkCurrency(Money money) {
+        if (money.getCurrencyCode() != currency) {
+            throw new CurrencyMismatchException(currency.getCode(), money.getCurrency());
+        }
+    }
+}
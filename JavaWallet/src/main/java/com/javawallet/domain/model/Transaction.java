@@ -13,14 +13,24 @@ public class Transaction implements IVisitable {
     private final Money money;
     private LocalDateTime date;
     private String note;
+    // Set for good once a wallet takes the transaction: its date then keys the wallet's timeline, the
+    // spending windows and the repository indexes, which cannot follow a change.
+    private volatile boolean attached;
+    // Views built by a compact store, which keeps no reference to them; a change would be silently lost.
+    private final boolean readOnly;
 
-    Transaction(Money money, TransactionType type, Category category, LocalDateTime date, String note) {
-        this.id = UUID.randomUUID();
+    Transaction(UUID id, Money money, TransactionType type, Category category, LocalDateTime date, String note) {
+        this(id, money, type, category, date, note, false);
+    }
+
+    Transaction(UUID id, Money money, TransactionType type, Category category, LocalDateTime date, String note, boolean readOnly) {
+        this.id = id;
         this.category = category;
         this.type = type;
         this.money = money;
         this.date = date;
         this.note = note;
+        this.readOnly = readOnly;
     }
 
     @Override
@@ -34,14 +44,29 @@ public class Transaction implements IVisitable {
     public Money getMoney() { return money; }
     public LocalDateTime getDate() { return date; }
     public String getNote() { return note; }
-    public void setDate(LocalDateTime date){this.date = date;}
-    public void setNote(String note) {this.note = note;}
+
+    // Only allowed before the transaction is added to a wallet; build it with the right date instead.
+    @Deprecated
+    public void setDate(LocalDateTime date) {
+        if (readOnly) throw new UnsupportedOperationException("Transaction " + id + " is a read-only view");
+        if (attached) throw new IllegalStateException("Transaction " + id + " is held by a wallet; its date cannot change");
+        this.date = date;
+    }
+
+    public void setNote(String note) {
+        if (readOnly) throw new UnsupportedOperationException("Transaction " + id + " is a read-only view");
+        this.note = note;
+    }
+
+    void attach() {
+        attached = true;
+    }
 
     @Override
     public String toString() {
         return "Transaction{" +
                 "id=" + id +
-                ", category=" + category +
+                ", category=" + (category == null ? null : category.getName()) +
                 ", type=" + type +
                 ", money=" + money +
                 ", date=" + date +
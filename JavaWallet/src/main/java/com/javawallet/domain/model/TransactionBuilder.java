@@ -2,6 +2,7 @@ package com.javawallet.domain.model;
 
 import com.javawallet.domain.exception.domain.InvalidAmountException;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 public class TransactionBuilder {
     private final Money amount;
@@ -9,6 +10,7 @@ public class TransactionBuilder {
     private Category category;
     private String note;
     private LocalDateTime date;
+    private UUID id;
 
     public TransactionBuilder(Money amount, TransactionType type) {
         if (amount == null) throw new InvalidAmountException("Amount is required to create transaction, cannot be null");
@@ -33,7 +35,18 @@ public class TransactionBuilder {
         return this;
     }
 
+    public TransactionBuilder withId(UUID id) {
+        this.id = id;
+        return this;
+    }
+
+    public Money getAmount() { return amount; }
+    public TransactionType getType() { return type; }
+    public Category getCategory() { return category; }
+    public String getNote() { return note; }
+    public LocalDateTime getDate() { return date; }
+
     public Transaction build() {
-        return new Transaction(amount, type, category, date, note);
+        return new Transaction(id != null ? id : UUID.randomUUID(), amount, type, category, date, note);
     }
 }
\ No newline at end of file
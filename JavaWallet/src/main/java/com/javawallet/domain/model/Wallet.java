@@ -1,46 +1,129 @@
 package com.javawallet.domain.model;
 
+import com.javawallet.domain.exception.object.DuplicateTransactionException;
+import com.javawallet.domain.exception.object.TransactionNotFoundExecption;
 import com.javawallet.domain.exception.object.TransactionNullException;
+import com.javawallet.domain.exception.transactionType.InvalidTransactionType;
 import com.javawallet.domain.strategy.IRuleStrategy;
+import com.javawallet.domain.strategy.RuleSet;
 import com.javawallet.domain.visitor.IVisitable;
 import com.javawallet.domain.visitor.IVisitor;
 
+import java.time.LocalDateTime;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 public class Wallet implements IVisitable {
     private final UUID id;
     private final String name;
     private final WalletType type;
-    private Money balance;
-    private final Collection<Transaction> transactions;
-    private final Collection<IRuleStrategy> ruleStrategies;
+    private volatile Money balance;
+    private final ITransactionStore transactions;
+    private final RuleSet ruleSet;
+    private final Map<UUID, Transaction> pendingAdded = new LinkedHashMap<>();
+    private final Map<UUID, Transaction> pendingRemoved = new LinkedHashMap<>();
+    private Money flushedBalance;
+    // Bumped by every add and rollback, so a cache built from the history can tell it went stale.
+    private long modifications;
+    // Whether the stateful rules have seen the history passed to the constructor; see restoreRuleState().
+    private boolean rulesRestored;
+    private final WalletTotals totals;
+    private final BalanceTimeline timeline = new BalanceTimeline();
+    // Read-only view for callers on other threads: every iteration walks a snapshot taken under the
+    // wallet lock, so concurrent writers never cause a ConcurrentModificationException.
+    private final Collection<Transaction> view = new AbstractCollection<>() {
+        @Override
+        public Iterator<Transaction> iterator() {
+            return Collections.unmodifiableList(getTransactionsSnapshot()).iterator();
+        }
 
+        @Override
+        public int size() {
+            return getTransactionCount();
+        }
+    };
 
     public Wallet(String name, WalletType type, Money balance, Collection<IRuleStrategy> ruleStrategies, Collection<Transaction> transactions) {
-        this.id = UUID.randomUUID();
+        this(UUID.randomUUID(), name, type, balance, ruleStrategies, transactions);
+    }
+
+    public Wallet(UUID id, String name, WalletType type, Money balance, Collection<IRuleStrategy> ruleStrategies, Collection<Transaction> transactions) {
+        this(id, name, type, balance, RuleSet.of(ruleStrategies), transactions);
+    }
+
+    public Wallet(UUID id, String name, WalletType type, Money balance, RuleSet ruleSet, Collection<Transaction> transactions) {
+        this(id, name, type, balance, ruleSet, transactions, new HeapTransactionStore());
+    }
+
+    public Wallet(UUID id, String name, WalletType type, Money balance, RuleSet ruleSet, Collection<Transaction> transactions, ITransactionStore store) {
+        this.id = id;
         this.name = name;
         this.type = type;
         this.balance = balance;
-        this.ruleStrategies = ruleStrategies;
-        this.transactions = transactions;
+        this.flushedBalance = balance;
+        this.ruleSet = ruleSet;
+        this.transactions = store;
+        this.totals = new WalletTotals(id);
+        this.rulesRestored = transactions.isEmpty() || !ruleSet.isStateful();
+        transactions.forEach(t -> {
+            t.attach();
+            this.transactions.put(t);
+            this.totals.add(t);
+            this.timeline.add(t);
+        });
+    }
+
+    // Replays the history loaded by the constructor into the stateful rules. Kept out of the constructor so
+    // no rule sees a half-built wallet: WalletFactory.restore() calls it right away, and a wallet built
+    // directly gets it before its first add or rollback. Later calls do nothing.
+    public synchronized void restoreRuleState() {
+        if (rulesRestored) return;
+        rulesRestored = true;
+        for (Transaction t : this.transactions.values()) ruleSet.onRestored(this, t);
     }
 
     public UUID getId() { return id; }
     public String getName() { return name; }
     public WalletType getType() { return type; }
     public Money getBalance() { return balance; }
-    public Collection<Transaction> getTransactions() { return Collections.unmodifiableCollection(this.transactions); }
-    public Collection<IRuleStrategy> getRuleStrategy() { return ruleStrategies; }
+    public Collection<Transaction> getTransactions() { return view; }
+    public synchronized List<Transaction> getTransactionsSnapshot() { return new ArrayList<>(this.transactions.values()); }
+    public synchronized int getTransactionCount() { return this.transactions.size(); }
+    public synchronized long getModificationCount() { return modifications; }
+    public synchronized Optional<Transaction> getTransaction(UUID id) { return Optional.ofNullable(this.transactions.get(id)); }
+    public Collection<IRuleStrategy> getRuleStrategy() { return ruleSet.getRules(); }
+    public RuleSet getRuleSet() { return ruleSet; }
+    public WalletTotals getTotals() { return totals; }
+
+    public synchronized Money getBalanceAt(LocalDateTime at) {
+        return timeline.balanceAt(balance, at);
+    }
+
+    public synchronized Money getMinBalance(LocalDateTime from, LocalDateTime to) {
+        return timeline.minBalance(balance, from, to);
+    }
+
+    public synchronized Money getMaxBalance(LocalDateTime from, LocalDateTime to) {
+        return timeline.maxBalance(balance, from, to);
+    }
 
     private void deposit(Money amount) {
         this.balance = this.balance.add(amount);
     }
     private void withdraw(Money amount) { this.balance = this.balance.subtract(amount); }
 
-    public void addTransaction(Transaction t) {
+    public synchronized void addTransaction(Transaction t) {
+        restoreRuleState();
         validateAndCheckRules(t);
+        t.attach();
 
         switch (t.getType()) {
             case DEPOSIT -> this.deposit(t.getMoney());
@@ -48,22 +131,99 @@ public class Wallet implements IVisitable {
             case TRANSFER ->  this.deposit(t.getMoney());
         }
 
-        this.transactions.add(t);
+        this.transactions.put(t);
+        this.totals.add(t);
+        this.timeline.add(t);
+        ruleSet.onAdded(this, t);
+        if (pendingRemoved.remove(t.getId()) == null) pendingAdded.put(t.getId(), t);
+        modifications++;
     }
 
-    public void rollbackTransaction(Transaction t) {
+    // A no-op when the transaction is not in the wallet, so the balance never moves without it.
+    public synchronized void rollbackTransaction(Transaction t) {
+        restoreRuleState();
+        if (!this.transactions.remove(t.getId())) return;
         switch (t.getType()) {
             case DEPOSIT -> this.withdraw(t.getMoney());
             case WITHDRAWAL -> this.deposit(t.getMoney());
             case TRANSFER ->  this.withdraw(t.getMoney());
         }
 
-        this.transactions.remove(t);
+        this.totals.remove(t);
+        this.timeline.remove(t);
+        ruleSet.onRolledBack(this, t);
+        if (pendingAdded.remove(t.getId()) == null) pendingRemoved.put(t.getId(), t);
+        modifications++;
+    }
+
+    // Debits the source and credits the target as one step: either both transactions are applied or
+    // neither is. The two wallets are locked in id order, so opposing transfers cannot deadlock and
+    // transfers between unrelated wallets never contend.
+    public static void transfer(Wallet source, Wallet target, Transaction debit, Transaction credit) {
+        if (source == target || source.id.equals(target.id)) {
+            throw new InvalidTransactionType("Source and target wallet of a transfer must differ");
+        }
+        Wallet first = source.id.compareTo(target.id) < 0 ? source : target;
+        Wallet second = first == source ? target : source;
+        synchronized (first) {
+            synchronized (second) {
+                source.addTransaction(debit);
+                try {
+                    target.addTransaction(credit);
+                } catch (RuntimeException e) {
+                    source.rollbackTransaction(debit);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // Fails without touching either wallet if one side of the transfer has been removed since.
+    public static void reverseTransfer(Wallet source, Wallet target, Transaction debit, Transaction credit) {
+        Wallet first = source.id.compareTo(target.id) < 0 ? source : target;
+        Wallet second = first == source ? target : source;
+        synchronized (first) {
+            synchronized (second) {
+                if (source.transactions.get(debit.getId()) == null || target.transactions.get(credit.getId()) == null) {
+                    throw new TransactionNotFoundExecption("Cannot reverse transfer " + debit.getId() + ": one side is no longer in its wallet");
+                }
+                target.rollbackTransaction(credit);
+                source.rollbackTransaction(debit);
+            }
+        }
+    }
+
+    public synchronized WalletDelta drainChanges() {
+        WalletDelta delta = new WalletDelta(
+                id,
+                new ArrayList<>(pendingAdded.values()),
+                new ArrayList<>(pendingRemoved.values()),
+                flushedBalance,
+                balance);
+        pendingAdded.clear();
+        pendingRemoved.clear();
+        flushedBalance = balance;
+        return delta;
+    }
+
+    // The history as of the last drainChanges(): rows added since are left out and rows removed since are
+    // put back. Lets persistence image what it has recorded without draining a change still in progress.
+    public synchronized List<Transaction> getDrainedTransactions() {
+        List<Transaction> result = new ArrayList<>(transactions.size() + pendingRemoved.size());
+        for (Transaction t : transactions.values()) {
+            if (!pendingAdded.containsKey(t.getId())) result.add(t);
+        }
+        result.addAll(pendingRemoved.values());
+        return result;
     }
 
     private void validateAndCheckRules(Transaction t) {
         if (t == null) throw new TransactionNullException("Transaction was NULL");
-        ruleStrategies.forEach(r -> r.check(this,t));
+        // Checked before any state moves: a repeated id would count the money twice but be stored once.
+        if (this.transactions.get(t.getId()) != null) {
+            throw new DuplicateTransactionException("Transaction " + t.getId() + " is already in wallet " + id);
+        }
+        ruleSet.check(this, t);
     }
 
     @Override
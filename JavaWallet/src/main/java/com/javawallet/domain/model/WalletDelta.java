@@ -0,0 +1,30 @@
+package com.javawallet.domain.model;
+
+import java.util.List;
+import java.util.UUID;
+
+public final class WalletDelta {
+    private final UUID walletId;
+    private final List<Transaction> added;
+    private final List<Transaction> removed;
+    private final Money previousBalance;
+    private final Money balance;
+
+    WalletDelta(UUID walletId, List<Transaction> added, List<Transaction> removed, Money previousBalance, Money balance) {
+        this.walletId = walletId;
+        this.added = List.copyOf(added);
+        this.removed = List.copyOf(removed);
+        this.previousBalance = previousBalance;
+        this.balance = balance;
+    }
+
+    public UUID getWalletId() { return walletId; }
+    public List<Transaction> getAdded() { return added; }
+    public List<Transaction> getRemoved() { return removed; }
+    public Money getPreviousBalance() { return previousBalance; }
+    public Money getBalance() { return balance; }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && balance.equals(previousBalance);
+    }
+}
@@ -0,0 +1,72 @@
+package com.javawallet.domain.model;
+
+import com.javawallet.domain.visitor.IVisitable;
+import com.javawallet.domain.visitor.IVisitor;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class WalletTotals implements IVisitable {
+    private final UUID walletId;
+    private final Map<Bucket, Entry> buckets = new HashMap<>();
+
+    WalletTotals(UUID walletId) {
+        this.walletId = walletId;
+    }
+
+    public record Bucket(UUID categoryId, YearMonth month, TransactionType type) {
+        static Bucket of(Transaction t) {
+            return new Bucket(
+                    t.getCategory() == null ? null : t.getCategory().getId(),
+                    t.getDate() == null ? null : YearMonth.from(t.getDate()),
+                    t.getType());
+        }
+    }
+
+    synchronized void add(Transaction t) {
+        Entry entry = buckets.computeIfAbsent(Bucket.of(t), b -> new Entry(t.getMoney().getCurrencyCode()));
+        entry.sum.add(t.getMoney());
+        entry.count++;
+    }
+
+    synchronized void remove(Transaction t) {
+        Bucket bucket = Bucket.of(t);
+        Entry entry = buckets.get(bucket);
+        if (entry == null) return;
+        entry.sum.subtract(t.getMoney());
+        if (--entry.count == 0) buckets.remove(bucket);
+    }
+
+    public UUID getWalletId() { return walletId; }
+
+    public synchronized Map<Bucket, Money> getBuckets() {
+        Map<Bucket, Money> result = new HashMap<>(buckets.size() * 2);
+        buckets.forEach((bucket, entry) -> result.put(bucket, entry.sum.toMoney()));
+        return result;
+    }
+
+    public synchronized long getCount(Bucket bucket) {
+        Entry entry = buckets.get(bucket);
+        return entry == null ? 0 : entry.count;
+    }
+
+    public synchronized int size() {
+        return buckets.size();
+    }
+
+    @Override
+    public void accept(IVisitor visitor) {
+        visitor.visit(this);
+    }
+
+    private static final class Entry {
+        private final MoneyAccumulator sum;
+        private long count;
+
+        private Entry(CurrencyCode currency) {
+            this.sum = new MoneyAccumulator(currency);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.javawallet.domain.strategy;
+
+import com.javawallet.domain.model.Category;
+import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.Transaction;
+
+import java.time.Clock;
+import java.util.UUID;
+
+public class CategoryBudget extends WindowedSpendingRule {
+    private final UUID categoryId;
+
+    public CategoryBudget(UUID categoryId, Money limit, int days) {
+        this(categoryId, limit, days, Clock.systemDefaultZone());
+    }
+
+    public CategoryBudget(UUID categoryId, Money limit, int days, Clock clock) {
+        super(limit, days, clock);
+        this.categoryId = categoryId;
+    }
+
+    public UUID getCategoryId() { return categoryId; }
+
+    @Override
+    protected boolean counts(Transaction t) {
+        if (!super.counts(t)) return false;
+        for (Category c = t.getCategory(); c != null; c = c.getParent()) {
+            if (c.getId().equals(categoryId)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected String describe() {
+        return "Budget for category " + categoryId.toString() + " over " + getDays() + " days";
+    }
+}
@@ -0,0 +1,20 @@
+package com.javawallet.domain.strategy;
+
+import com.javawallet.domain.model.Money;
+
+import java.time.Clock;
+
+public class DailySpendingLimit extends WindowedSpendingRule {
+    public DailySpendingLimit(Money limit) {
+        this(limit, Clock.systemDefaultZone());
+    }
+
+    public DailySpendingLimit(Money limit, Clock clock) {
+        super(limit, 1, clock);
+    }
+
+    @Override
+    protected String describe() {
+        return "Daily spending limit";
+    }
+}
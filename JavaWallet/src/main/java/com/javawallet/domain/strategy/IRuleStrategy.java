@@ -1,8 +1,23 @@
 package com.javawallet.domain.strategy;
 
 import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.TransactionType;
 import com.javawallet.domain.model.Wallet;
 
 public interface IRuleStrategy {
     void check(Wallet w, Transaction t);
-}
\ No newline at end of file
+
+    default boolean appliesTo(TransactionType type) { return true; }
+
+    // Relative evaluation cost, used to run cheap rules first.
+    default int cost() { return 1; }
+
+    default boolean isStateful() { return false; }
+
+    default void onAdded(Wallet w, Transaction t) {}
+
+    // Called instead of onAdded for history loaded into a wallet, once the wallet is constructed.
+    default void onRestored(Wallet w, Transaction t) { onAdded(w, t); }
+
+    default void onRolledBack(Wallet w, Transaction t) {}
+}
@@ -14,6 +14,12 @@ public class MaxWithdraw implements IRuleStrategy {
         this.maxAmount = maxAmount;
     }
 
+    @Override
+    public boolean appliesTo(TransactionType type) { return type == TransactionType.WITHDRAWAL; }
+
+    @Override
+    public int cost() { return 0; }
+
     @Override
     public void check(Wallet w, Transaction t) {
         if (t.getType() != TransactionType.WITHDRAWAL) return;
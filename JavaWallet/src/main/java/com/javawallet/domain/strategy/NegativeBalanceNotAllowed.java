@@ -5,15 +5,18 @@ import com.javawallet.domain.model.Transaction;
 import com.javawallet.domain.model.TransactionType;
 import com.javawallet.domain.model.Wallet;
 
-import java.math.BigDecimal;
-
 public class NegativeBalanceNotAllowed implements  IRuleStrategy {
+    @Override
+    public boolean appliesTo(TransactionType type) { return type == TransactionType.WITHDRAWAL; }
+
+    @Override
+    public int cost() { return 0; }
+
     @Override
     public void check(Wallet w, Transaction t) {
-        if (t.getType() == TransactionType.DEPOSIT) return;
-        BigDecimal walletBalance = w.getBalance().getAmount();
-        BigDecimal transactionAmount = t.getMoney().getAmount();
-        if (walletBalance.compareTo(transactionAmount) < 0) {
+        // TRANSFER entries are credits (the receiving side of a transfer), so only withdrawals can overdraw.
+        if (t.getType() != TransactionType.WITHDRAWAL) return;
+        if (w.getBalance().compareTo(t.getMoney()) < 0) {
             throw new InvalidAmountException("Insufficient funds in wallet: " + w.getId().toString());
         }
     }
@@ -0,0 +1,20 @@
+package com.javawallet.domain.strategy;
+
+import com.javawallet.domain.model.Money;
+
+import java.time.Clock;
+
+public class RollingWindowSpendingLimit extends WindowedSpendingRule {
+    public RollingWindowSpendingLimit(Money limit, int days) {
+        this(limit, days, Clock.systemDefaultZone());
+    }
+
+    public RollingWindowSpendingLimit(Money limit, int days, Clock clock) {
+        super(limit, days, clock);
+    }
+
+    @Override
+    protected String describe() {
+        return "Spending limit over " + getDays() + " days";
+    }
+}
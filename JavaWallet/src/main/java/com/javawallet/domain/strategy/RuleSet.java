@@ -0,0 +1,140 @@
+package com.javawallet.domain.strategy;
+
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.TransactionType;
+import com.javawallet.domain.model.Wallet;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Shareable rule pipeline: rules are bucketed by the transaction types they apply to, ordered
+// cheapest first and evaluated as flat arrays. About one evaluation in 64 of a rule is timed, picked
+// at random per thread so the hot path writes no shared counter. reorder() swaps in a new evaluation
+// order for every wallet sharing the set; the set of rules itself never changes.
+public final class RuleSet {
+    private static final int SAMPLE_MASK = 63;
+    private static final RuleSet EMPTY = new RuleSet(Collections.emptyList());
+
+    private final IRuleStrategy[] stateful;
+    private final Map<IRuleStrategy, Stats> stats;
+    private volatile List<IRuleStrategy> rules;
+    private volatile Compiled[][] byType;
+
+    private RuleSet(List<IRuleStrategy> rules) {
+        this.stats = new IdentityHashMap<>();
+        rules.forEach(r -> stats.put(r, new Stats()));
+        this.stateful = rules.stream().filter(IRuleStrategy::isStateful).toArray(IRuleStrategy[]::new);
+        install(rules);
+    }
+
+    public static RuleSet empty() {
+        return EMPTY;
+    }
+
+    public static RuleSet of(Collection<IRuleStrategy> rules) {
+        if (rules.isEmpty()) return EMPTY;
+        List<IRuleStrategy> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparingInt(IRuleStrategy::cost));
+        return new RuleSet(ordered);
+    }
+
+    public static RuleSet of(IRuleStrategy... rules) {
+        return of(Arrays.asList(rules));
+    }
+
+    public void check(Wallet w, Transaction t) {
+        for (Compiled c : byType[t.getType().ordinal()]) c.check(w, t);
+    }
+
+    public void onAdded(Wallet w, Transaction t) {
+        for (IRuleStrategy r : stateful) r.onAdded(w, t);
+    }
+
+    public void onRestored(Wallet w, Transaction t) {
+        for (IRuleStrategy r : stateful) r.onRestored(w, t);
+    }
+
+    public void onRolledBack(Wallet w, Transaction t) {
+        for (IRuleStrategy r : stateful) r.onRolledBack(w, t);
+    }
+
+    public boolean isStateful() {
+        return stateful.length > 0;
+    }
+
+    public List<IRuleStrategy> getRules() {
+        return rules;
+    }
+
+    // Reorders by observed cost per rejection, so rules that reject often and cheaply run first.
+    // Checks already running finish with the order they started with.
+    public synchronized void reorder() {
+        List<IRuleStrategy> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparingDouble(r -> stats.get(r).costPerRejection(r)));
+        install(ordered);
+    }
+
+    private void install(List<IRuleStrategy> ordered) {
+        TransactionType[] types = TransactionType.values();
+        Compiled[][] compiled = new Compiled[types.length][];
+        for (TransactionType type : types) {
+            List<Compiled> applicable = new ArrayList<>();
+            for (IRuleStrategy r : ordered) {
+                if (r.appliesTo(type)) applicable.add(new Compiled(r, stats.get(r)));
+            }
+            compiled[type.ordinal()] = applicable.toArray(new Compiled[0]);
+        }
+        this.rules = Collections.unmodifiableList(ordered);
+        this.byType = compiled;
+    }
+
+    public List<RuleStats> getStats() {
+        List<RuleStats> result = new ArrayList<>(rules.size());
+        rules.forEach(r -> {
+            Stats s = stats.get(r);
+            result.add(new RuleStats(r.getClass().getSimpleName(), s.evaluations.sum(), s.rejections.sum(), s.meanNanos()));
+        });
+        return result;
+    }
+
+    public record RuleStats(String rule, long evaluations, long rejections, double meanNanos) {}
+
+    private static final class Stats {
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+        private final LongAdder sampledNanos = new LongAdder();
+        private final LongAdder samples = new LongAdder();
+
+        private double meanNanos() {
+            long n = samples.sum();
+            return n == 0 ? 0 : (double) sampledNanos.sum() / n;
+        }
+
+        private double costPerRejection(IRuleStrategy r) {
+            double cost = samples.sum() == 0 ? r.cost() + 1 : meanNanos();
+            long evaluated = evaluations.sum();
+            double rejectionRate = evaluated == 0 ? 0 : (double) rejections.sum() / evaluated;
+            return rejectionRate == 0 ? Double.MAX_VALUE / 2 + cost : cost / rejectionRate;
+        }
+    }
+
+    private record Compiled(IRuleStrategy rule, Stats stats) {
+        private void check(Wallet w, Transaction t) {
+            stats.evaluations.increment();
+            boolean timed = (ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) == 0;
+            long start = timed ? System.nanoTime() : 0;
+            try {
+                rule.check(w, t);
+            } catch (RuntimeException e) {
+                stats.rejections.increment();
+                throw e;
+            } finally {
+                if (timed) {
+                    stats.sampledNanos.add(System.nanoTime() - start);
+                    stats.samples.increment();
+                }
+            }
+        }
+    }
+}
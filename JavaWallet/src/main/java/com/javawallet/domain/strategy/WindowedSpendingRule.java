@@ -0,0 +1,194 @@
+package com.javawallet.domain.strategy;
+
+import com.javawallet.domain.exception.domain.AmountNotAllowed;
+import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.TransactionType;
+import com.javawallet.domain.model.Wallet;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps per-day spending buckets for each wallet plus a running sum of the window ending at the
+// most recent day seen, so checks for "today" are O(1) and older days cost one pass over the window.
+// Only transactions landing in the window that ends today are checked, so buckets older than the
+// windows those checks read are evicted. A backdated amount lands in every window from its own day up
+// to today, so it is checked against the fullest of those. Undated history restored with a wallet is not counted: its
+// spending day is unknown, and counting it as today would block new withdrawals after a restart.
+// State is only touched from Wallet's synchronized add/rollback, so the per-wallet window needs no locking.
+public abstract class WindowedSpendingRule implements IRuleStrategy {
+    private final Money limit;
+    private final int days;
+    private final Clock clock;
+    private final Map<UUID, Window> windows = new ConcurrentHashMap<>();
+
+    protected WindowedSpendingRule(Money limit, int days, Clock clock) {
+        if (days < 1) throw new IllegalArgumentException("Window must span at least one day");
+        this.limit = limit;
+        this.days = days;
+        this.clock = clock;
+    }
+
+    public Money getLimit() { return limit; }
+    public int getDays() { return days; }
+
+    protected boolean counts(Transaction t) {
+        return t.getType() == TransactionType.WITHDRAWAL;
+    }
+
+    protected abstract String describe();
+
+    @Override
+    public boolean appliesTo(TransactionType type) { return type == TransactionType.WITHDRAWAL; }
+
+    @Override
+    public int cost() { return 2; }
+
+    @Override
+    public boolean isStateful() { return true; }
+
+    @Override
+    public void check(Wallet w, Transaction t) {
+        if (!applies(t)) return;
+        Money money = t.getMoney();
+        if (!money.hasMinorUnits()) throw exceeded(w);
+        long today = today();
+        long day = day(t, today);
+        if (day <= today - days) return;
+        Window window = window(w);
+        window.retain(today);
+        long spent = window.maxSum(day, Math.max(day, Math.min(day + days - 1, today)));
+        if (spent + money.getMinorUnits() > limit.getMinorUnits() || spent + money.getMinorUnits() < spent) {
+            throw exceeded(w);
+        }
+    }
+
+    @Override
+    public void onAdded(Wallet w, Transaction t) {
+        if (!applies(t) || !t.getMoney().hasMinorUnits()) return;
+        long today = today();
+        Window window = window(w);
+        window.retain(today);
+        long day = day(t, today);
+        if (day < window.keep) return;
+        if (t.getDate() == null) window.undated.put(t.getId(), day);
+        window.add(day, t.getMoney().getMinorUnits());
+    }
+
+    @Override
+    public void onRestored(Wallet w, Transaction t) {
+        if (t.getDate() != null) onAdded(w, t);
+    }
+
+    @Override
+    public void onRolledBack(Wallet w, Transaction t) {
+        if (!applies(t) || !t.getMoney().hasMinorUnits()) return;
+        Window window = windows.get(w.getId());
+        if (window == null) return;
+        window.retain(today());
+        // Days before `keep` were evicted or never counted; undated rows only count if still recorded.
+        Long day = t.getDate() == null ? window.undated.remove(t.getId()) : Long.valueOf(t.getDate().toLocalDate().toEpochDay());
+        if (day != null && day >= window.keep) window.add(day, -t.getMoney().getMinorUnits());
+    }
+
+    public Money spent(Wallet w, LocalDate day) {
+        Window window = windows.get(w.getId());
+        if (window == null) return Money.zero(limit.getCurrency());
+        synchronized (w) {
+            window.retain(today());
+            return Money.ofMinor(window.sum(day.toEpochDay()), limit.getCurrency());
+        }
+    }
+
+    private boolean applies(Transaction t) {
+        return t.getMoney().getCurrencyCode() == limit.getCurrencyCode() && counts(t);
+    }
+
+    private long today() {
+        return LocalDate.now(clock).toEpochDay();
+    }
+
+    private static long day(Transaction t, long today) {
+        return t.getDate() != null ? t.getDate().toLocalDate().toEpochDay() : today;
+    }
+
+    private Window window(Wallet w) {
+        return windows.computeIfAbsent(w.getId(), id -> new Window(days));
+    }
+
+    private AmountNotAllowed exceeded(Wallet w) {
+        return new AmountNotAllowed(describe() + " of " + limit + " exceeded in wallet: " + w.getId().toString());
+    }
+
+    private static final class Window {
+        private final int days;
+        private final TreeMap<Long, Long> buckets = new TreeMap<>();
+        private final Map<UUID, Long> undated = new LinkedHashMap<>();
+        private long anchor = Long.MIN_VALUE;
+        private long anchorSum;
+        // Oldest day still bucketed: the first day read by a check of the oldest checkable day.
+        private long keep = Long.MIN_VALUE;
+
+        private Window(int days) {
+            this.days = days;
+        }
+
+        private void retain(long today) {
+            long horizon = today - 2L * days + 2;
+            if (horizon <= keep) return;
+            keep = horizon;
+            buckets.headMap(horizon).clear();
+            undated.values().removeIf(day -> day < horizon);
+            // The anchored sum may include evicted days; recompute it on next use.
+            if (anchor != Long.MIN_VALUE && anchor - days + 1 < horizon) anchor = Long.MIN_VALUE;
+        }
+
+        private void add(long day, long amount) {
+            long total = buckets.getOrDefault(day, 0L) + amount;
+            if (total == 0) buckets.remove(day);
+            else buckets.put(day, total);
+            if (day > anchor) slide(day);
+            else if (day > anchor - days) anchorSum += amount;
+        }
+
+        // Sum of the window ending on the given day.
+        private long sum(long day) {
+            if (day == anchor) return anchorSum;
+            if (day > anchor) {
+                slide(day);
+                return anchorSum;
+            }
+            long sum = 0;
+            for (long d = day - days + 1; d <= day; d++) sum += buckets.getOrDefault(d, 0L);
+            return sum;
+        }
+
+        // Largest sum of the windows ending on `from` through `to`, sliding one day at a time.
+        private long maxSum(long from, long to) {
+            long sum = sum(from);
+            long max = sum;
+            for (long d = from + 1; d <= to; d++) {
+                sum += buckets.getOrDefault(d, 0L) - buckets.getOrDefault(d - days, 0L);
+                max = Math.max(max, sum);
+            }
+            return max;
+        }
+
+        private void slide(long day) {
+            if (anchor == Long.MIN_VALUE || day - anchor >= days) {
+                anchorSum = 0;
+                for (long d = day - days + 1; d <= day; d++) anchorSum += buckets.getOrDefault(d, 0L);
+            } else {
+                for (long d = anchor + 1; d <= day; d++) {
+                    anchorSum += buckets.getOrDefault(d, 0L) - buckets.getOrDefault(d - days, 0L);
+                }
+            }
+            anchor = day;
+        }
+    }
+}
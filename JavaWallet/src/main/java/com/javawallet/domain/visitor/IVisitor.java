@@ -3,9 +3,11 @@ package com.javawallet.domain.visitor;
 import com.javawallet.domain.model.Wallet;
 import com.javawallet.domain.model.Transaction;
 import com.javawallet.domain.model.Category;
+import com.javawallet.domain.model.WalletTotals;
 
 public interface IVisitor {
     void visit(Wallet wallet);
     void visit(Transaction transaction);
     void visit(Category category);
+    default void visit(WalletTotals totals) {}
 }
\ No newline at end of file
@@ -10,7 +10,7 @@ public class ReportCLI implements IVisitor{
         System.out.println("Wallet type: " + wallet.getType().toString());
         System.out.println("Wallet balance: " + wallet.getBalance().toString());
         System.out.println("Wallet Transactions:");
-        wallet.getTransactions().forEach(t -> System.out.println(t.toString()));
+        wallet.getTransactionsSnapshot().forEach(t -> System.out.println(t.toString()));
         System.out.println("------------------------------------");
     }
 
@@ -23,4 +23,11 @@ public class ReportCLI implements IVisitor{
     public void visit(Category category) {
         System.out.println(category.toString());
     }
+
+    @Override
+    public void visit(WalletTotals totals) {
+        System.out.println("Wallet totals: " + totals.getWalletId().toString());
+        totals.getBuckets().forEach((bucket, money) -> System.out.println(bucket.toString() + " = " + money.toString()));
+        System.out.println("------------------------------------");
+    }
 }
@@ -0,0 +1,114 @@
+package com.javawallet.domain.visitor;
+
+import com.javawallet.domain.model.*;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+import java.util.UUID;
+
+public class ReportCSV extends StreamingReport {
+    private static final String HEADER = "record,id,parent_id,name,date,type,amount,currency,category_id,note";
+
+    private boolean headerWritten;
+
+    public ReportCSV(Writer writer) { super(writer); }
+    public ReportCSV(OutputStream out) { super(out); }
+    public ReportCSV(WritableByteChannel channel) { super(channel); }
+
+    @Override
+    public void visit(Wallet wallet) {
+        writeHeader();
+        line.append("wallet,");
+        appendUuid(wallet.getId());
+        line.append(",,");
+        appendText(wallet.getName());
+        line.append(",,").append(wallet.getType().name()).append(',');
+        appendAmount(wallet.getBalance());
+        line.append(',').append(wallet.getBalance().getCurrency()).append(",,\n");
+        writeLine();
+        wallet.getTransactionsSnapshot().forEach(t -> writeTransaction(wallet.getId(), t));
+    }
+
+    @Override
+    public void visit(Transaction transaction) {
+        writeHeader();
+        writeTransaction(null, transaction);
+    }
+
+    @Override
+    public void visit(Category category) {
+        writeHeader();
+        line.append("category,");
+        appendUuid(category.getId());
+        line.append(',');
+        if (category.getParent() != null) appendUuid(category.getParent().getId());
+        line.append(',');
+        appendText(category.getName());
+        line.append(",,,,,,\n");
+        writeLine();
+    }
+
+    @Override
+    public void visit(WalletTotals totals) {
+        writeHeader();
+        totals.getBuckets().forEach((bucket, money) -> {
+            line.append("bucket,,");
+            appendUuid(totals.getWalletId());
+            line.append(",,");
+            if (bucket.month() != null) line.append(bucket.month().getYear()).append('-').append(bucket.month().getMonthValue() < 10 ? "0" : "").append(bucket.month().getMonthValue());
+            line.append(',').append(bucket.type().name()).append(',');
+            appendAmount(money);
+            line.append(',').append(money.getCurrency()).append(',');
+            appendUuid(bucket.categoryId());
+            line.append(",\n");
+            writeLine();
+        });
+    }
+
+    private void writeTransaction(UUID walletId, Transaction t) {
+        line.append("transaction,");
+        appendUuid(t.getId());
+        line.append(',');
+        appendUuid(walletId);
+        line.append(',');
+        if (t.getCategory() != null) appendText(t.getCategory().getName());
+        line.append(',');
+        appendDate(t.getDate());
+        line.append(',').append(t.getType().name()).append(',');
+        appendAmount(t.getMoney());
+        line.append(',').append(t.getMoney().getCurrency()).append(',');
+        if (t.getCategory() != null) appendUuid(t.getCategory().getId());
+        line.append(',');
+        appendText(t.getNote());
+        line.append('\n');
+        writeLine();
+    }
+
+    private void writeHeader() {
+        if (headerWritten) return;
+        headerWritten = true;
+        line.append(HEADER).append('\n');
+        writeLine();
+    }
+
+    private void appendText(String value) {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') line.append('"');
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,142 @@
+package com.javawallet.domain.visitor;
+
+import com.javawallet.domain.model.*;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+
+public class ReportJSON extends StreamingReport {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    public ReportJSON(Writer writer) { super(writer); }
+    public ReportJSON(OutputStream out) { super(out); }
+    public ReportJSON(WritableByteChannel channel) { super(channel); }
+
+    @Override
+    public void visit(Wallet wallet) {
+        line.append("{\"record\":\"wallet\",\"id\":\"");
+        appendUuid(wallet.getId());
+        line.append("\",\"name\":");
+        appendString(wallet.getName());
+        line.append(",\"type\":\"").append(wallet.getType().name()).append("\",\"balance\":");
+        appendAmount(wallet.getBalance());
+        line.append(",\"currency\":\"").append(wallet.getBalance().getCurrency()).append("\",\"transactions\":[");
+        boolean first = true;
+        for (Transaction t : wallet.getTransactionsSnapshot()) {
+            if (!first) line.append(',');
+            first = false;
+            appendTransaction(t, false);
+            writeLine();
+        }
+        line.append("]}\n");
+        writeLine();
+    }
+
+    @Override
+    public void visit(Transaction transaction) {
+        appendTransaction(transaction, true);
+        line.append('\n');
+        writeLine();
+    }
+
+    @Override
+    public void visit(Category category) {
+        line.append("{\"record\":\"category\",\"id\":\"");
+        appendUuid(category.getId());
+        line.append("\",\"name\":");
+        appendString(category.getName());
+        line.append(",\"parentId\":");
+        if (category.getParent() == null) {
+            line.append("null");
+        } else {
+            line.append('"');
+            appendUuid(category.getParent().getId());
+            line.append('"');
+        }
+        line.append("}\n");
+        writeLine();
+    }
+
+    @Override
+    public void visit(WalletTotals totals) {
+        totals.getBuckets().forEach((bucket, money) -> {
+            line.append("{\"record\":\"bucket\",\"walletId\":\"");
+            appendUuid(totals.getWalletId());
+            line.append("\",\"month\":");
+            if (bucket.month() == null) {
+                line.append("null");
+            } else {
+                line.append('"').append(bucket.month().getYear()).append('-');
+                if (bucket.month().getMonthValue() < 10) line.append('0');
+                line.append(bucket.month().getMonthValue()).append('"');
+            }
+            line.append(",\"type\":\"").append(bucket.type().name()).append("\",\"categoryId\":");
+            if (bucket.categoryId() == null) {
+                line.append("null");
+            } else {
+                line.append('"');
+                appendUuid(bucket.categoryId());
+                line.append('"');
+            }
+            line.append(",\"amount\":");
+            appendAmount(money);
+            line.append(",\"currency\":\"").append(money.getCurrency()).append("\",\"count\":").append(totals.getCount(bucket)).append("}\n");
+            writeLine();
+        });
+    }
+
+    private void appendTransaction(Transaction t, boolean withRecord) {
+        line.append('{');
+        if (withRecord) line.append("\"record\":\"transaction\",");
+        line.append("\"id\":\"");
+        appendUuid(t.getId());
+        line.append("\",\"date\":");
+        if (t.getDate() == null) {
+            line.append("null");
+        } else {
+            line.append('"');
+            appendDate(t.getDate());
+            line.append('"');
+        }
+        line.append(",\"type\":\"").append(t.getType().name()).append("\",\"amount\":");
+        appendAmount(t.getMoney());
+        line.append(",\"currency\":\"").append(t.getMoney().getCurrency()).append("\",\"categoryId\":");
+        if (t.getCategory() == null) {
+            line.append("null");
+        } else {
+            line.append('"');
+            appendUuid(t.getCategory().getId());
+            line.append('"');
+        }
+        line.append(",\"note\":");
+        appendString(t.getNote());
+        line.append('}');
+    }
+
+    private void appendString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+}
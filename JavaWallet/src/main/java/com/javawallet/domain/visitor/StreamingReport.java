@@ -0,0 +1,95 @@
+package com.javawallet.domain.visitor;
+
+import com.javawallet.domain.model.Money;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+public abstract class StreamingReport implements IVisitor, Flushable {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer writer;
+    protected final StringBuilder line = new StringBuilder(256);
+    private char[] chars = new char[256];
+
+    protected StreamingReport(Writer writer) {
+        this.writer = writer;
+    }
+
+    protected StreamingReport(OutputStream out) {
+        this(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16));
+    }
+
+    protected StreamingReport(WritableByteChannel channel) {
+        this(new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), 1 << 16));
+    }
+
+    protected void writeLine() {
+        int length = line.length();
+        if (chars.length < length) chars = new char[Math.max(length, chars.length * 2)];
+        line.getChars(0, length, chars, 0);
+        line.setLength(0);
+        try {
+            writer.write(chars, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected void appendUuid(UUID id) {
+        if (id == null) return;
+        appendHex(id.getMostSignificantBits() >>> 32, 8);
+        line.append('-');
+        appendHex(id.getMostSignificantBits() >>> 16, 4);
+        line.append('-');
+        appendHex(id.getMostSignificantBits(), 4);
+        line.append('-');
+        appendHex(id.getLeastSignificantBits() >>> 48, 4);
+        line.append('-');
+        appendHex(id.getLeastSignificantBits(), 12);
+    }
+
+    protected void appendAmount(Money money) {
+        if (!money.hasMinorUnits()) {
+            line.append(money.getAmount());
+            return;
+        }
+        long units = money.getMinorUnits();
+        long major = units / 100;
+        int minor = (int) Math.abs(units % 100);
+        if (units < 0 && major == 0) line.append('-');
+        line.append(major).append('.');
+        if (minor < 10) line.append('0');
+        line.append(minor);
+    }
+
+    protected void appendDate(LocalDateTime date) {
+        if (date != null) DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(date, line);
+    }
+
+    private void appendHex(long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            line.append(HEX[(int) (value >>> shift) & 0xF]);
+        }
+    }
+}
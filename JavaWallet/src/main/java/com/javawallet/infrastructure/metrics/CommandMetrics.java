@@ -0,0 +1,45 @@
+package com.javawallet.infrastructure.metrics;
+
+import com.javawallet.application.command.ICommand;
+import com.javawallet.application.command.ICommandListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One OperationStats per command class and phase, e.g. Command/CreateTransactionCommand.undo.
+// Lookups are cached per class so the hot path is a map get and a few atomic adds. Never throws: the
+// command has already run, and a failure here must not keep it out of the undo history.
+public class CommandMetrics implements ICommandListener {
+    private static final String GROUP = "Command";
+    private static final Logger LOG = LoggerFactory.getLogger(CommandMetrics.class);
+
+    private final MetricsRegistry registry;
+    private final Map<Class<?>, OperationStats[]> byClass = new ConcurrentHashMap<>();
+
+    CommandMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onCompleted(Phase phase, ICommand command, long nanos, RuntimeException failure) {
+        try {
+            OperationStats[] stats = byClass.get(command.getClass());
+            if (stats == null) stats = byClass.computeIfAbsent(command.getClass(), this::resolve);
+            stats[phase.ordinal()].record(nanos, failure);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not record metrics for {}", command.getClass().getName(), e);
+        }
+    }
+
+    private OperationStats[] resolve(Class<?> type) {
+        Phase[] phases = Phase.values();
+        OperationStats[] stats = new OperationStats[phases.length];
+        String name = type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+        for (Phase phase : phases) {
+            stats[phase.ordinal()] = registry.stats(GROUP, name + "." + phase.name().toLowerCase());
+        }
+        return stats;
+    }
+}
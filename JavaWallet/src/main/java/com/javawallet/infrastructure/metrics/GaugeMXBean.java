@@ -0,0 +1,5 @@
+package com.javawallet.infrastructure.metrics;
+
+public interface GaugeMXBean {
+    long getValue();
+}
@@ -0,0 +1,118 @@
+package com.javawallet.infrastructure.metrics;
+
+import com.javawallet.application.command.CommandInvoker;
+import com.javawallet.infrastructure.persistence.IPersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+// Names every recorder and gauge as group/name. Once exported, each one is also an MBean under
+// com.javawallet:type=<group>,name=<name>, including those created afterwards. Only the instance the
+// map keeps is registered, and registration failures are logged rather than thrown, because metrics
+// are created lazily on the command path.
+public class MetricsRegistry {
+    public static final String DOMAIN = "com.javawallet";
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private final Map<String, OperationStats> stats = new ConcurrentSkipListMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private volatile MBeanServer server;
+
+    public OperationStats stats(String group, String name) {
+        String key = key(group, name);
+        OperationStats existing = stats.get(key);
+        if (existing != null) return existing;
+        OperationStats created = new OperationStats(group, name);
+        existing = stats.putIfAbsent(key, created);
+        if (existing != null) return existing;
+        register(group, name, created);
+        return created;
+    }
+
+    public void gauge(String group, String name, LongSupplier value) {
+        Gauge created = new Gauge(group, name, value);
+        if (gauges.putIfAbsent(key(group, name), created) == null) register(group, name, created);
+    }
+
+    public Collection<OperationStats> getStats() {
+        return stats.values();
+    }
+
+    public Collection<Gauge> getGauges() {
+        return gauges.values();
+    }
+
+    // Times every command the invoker runs; the invoker must have been built with the returned listener.
+    public CommandMetrics commandMetrics() {
+        return new CommandMetrics(this);
+    }
+
+    public void watch(CommandInvoker invoker) {
+        gauge("CommandHistory", "undoDepth", invoker::getUndoDepth);
+        gauge("CommandHistory", "redoDepth", invoker::getRedoDepth);
+    }
+
+    public IPersistenceContext instrument(IPersistenceContext context) {
+        return new IPersistenceContext(
+                new TimedWalletRepository(context.getWalletRepository(), this),
+                new TimedCategoryRepository(context.getCategoryRepository(), this));
+    }
+
+    public synchronized void exportMBeans() {
+        exportMBeans(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public synchronized void exportMBeans(MBeanServer server) {
+        this.server = server;
+        stats.values().forEach(s -> register(s.getGroup(), s.getName(), s));
+        gauges.values().forEach(g -> register(g.group, g.name, g));
+    }
+
+    // Serialized with exportMBeans, so an instance created while exporting is registered exactly once.
+    private synchronized void register(String group, String name, Object mbean) {
+        MBeanServer target = server;
+        if (target == null) return;
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + ObjectName.quote(group) + ",name=" + ObjectName.quote(name));
+            if (!target.isRegistered(objectName)) target.registerMBean(mbean, objectName);
+        } catch (InstanceAlreadyExistsException e) {
+            LOG.warn("MBean {}/{} is already registered by another registry; keeping the existing one", group, name);
+        } catch (JMException e) {
+            LOG.warn("Could not register MBean {}/{}", group, name, e);
+        }
+    }
+
+    private static String key(String group, String name) {
+        return group + '/' + name;
+    }
+
+    public static final class Gauge implements GaugeMXBean {
+        private final String group;
+        private final String name;
+        private final LongSupplier value;
+
+        private Gauge(String group, String name, LongSupplier value) {
+            this.group = group;
+            this.name = name;
+            this.value = value;
+        }
+
+        public String getGroup() { return group; }
+        public String getName() { return name; }
+
+        @Override
+        public long getValue() {
+            return value.getAsLong();
+        }
+    }
+}
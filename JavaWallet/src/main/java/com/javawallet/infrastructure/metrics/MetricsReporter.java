@@ -0,0 +1,70 @@
+package com.javawallet.infrastructure.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Logs what happened since the previous report: one line per operation that ran in the interval,
+// followed by the gauges. Runs on its own daemon thread, scheduled by start() once the reporter is built.
+public class MetricsReporter implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsReporter.class);
+
+    private final MetricsRegistry registry;
+    private final ScheduledExecutorService scheduler;
+    private final Map<OperationStats, LatencyRecorder.Snapshot> previous = new HashMap<>();
+    private final Map<OperationStats, Long> previousErrors = new HashMap<>();
+    private long lastReport = System.nanoTime();
+
+    private MetricsReporter(MetricsRegistry registry) {
+        this.registry = registry;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static MetricsReporter start(MetricsRegistry registry, long period, TimeUnit unit) {
+        MetricsReporter reporter = new MetricsReporter(registry);
+        reporter.scheduler.scheduleAtFixedRate(reporter::report, period, period, unit);
+        return reporter;
+    }
+
+    synchronized void report() {
+        if (!LOG.isInfoEnabled()) return;
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-9, (now - lastReport) / 1e9);
+        lastReport = now;
+        for (OperationStats stats : registry.getStats()) {
+            LatencyRecorder.Snapshot current = stats.snapshot();
+            LatencyRecorder.Snapshot before = previous.put(stats, current);
+            long errors = stats.getErrorCount();
+            Long errorsBefore = previousErrors.put(stats, errors);
+            LatencyRecorder.Snapshot interval = before == null ? current : current.since(before);
+            if (interval.getCount() == 0) continue;
+            LOG.info("{}/{} count={} rate={}/s errors={} mean={}us p50={}us p99={}us p99.9={}us max={}us",
+                    stats.getGroup(), stats.getName(), interval.getCount(), Math.round(interval.getCount() / seconds),
+                    errors - (errorsBefore == null ? 0 : errorsBefore), micros(interval.getMean()),
+                    micros(interval.percentile(50)), micros(interval.percentile(99)), micros(interval.percentile(99.9)),
+                    micros(interval.getMax()));
+        }
+        for (MetricsRegistry.Gauge gauge : registry.getGauges()) {
+            LOG.info("{}/{} value={}", gauge.getGroup(), gauge.getName(), gauge.getValue());
+        }
+    }
+
+    private static String micros(double nanos) {
+        return String.format("%.1f", nanos / 1e3);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
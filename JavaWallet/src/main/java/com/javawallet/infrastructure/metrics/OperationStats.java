@@ -0,0 +1,83 @@
+package com.javawallet.infrastructure.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Count, latency and failures of one named operation. Failures are counted per exception class,
+// which for domain errors means per DomainException subtype.
+public final class OperationStats implements OperationStatsMXBean {
+    private final String group;
+    private final String name;
+    private final LatencyRecorder latency = new LatencyRecorder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<Class<?>, LongAdder> errorsByType = new ConcurrentHashMap<>();
+
+    OperationStats(String group, String name) {
+        this.group = group;
+        this.name = name;
+    }
+
+    public String getGroup() { return group; }
+    public String getName() { return name; }
+
+    public void record(long nanos, Throwable failure) {
+        latency.record(nanos);
+        if (failure != null) {
+            errors.increment();
+            errorsByType.computeIfAbsent(failure.getClass(), k -> new LongAdder()).increment();
+        }
+    }
+
+    public LatencyRecorder.Snapshot snapshot() {
+        return latency.snapshot();
+    }
+
+    @Override
+    public long getCount() {
+        return latency.snapshot().getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public Map<String, Long> getErrorsByType() {
+        Map<String, Long> out = new TreeMap<>();
+        errorsByType.forEach((type, count) -> out.merge(type.getSimpleName(), count.sum(), Long::sum));
+        return out;
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latency.snapshot().getMean() / 1e3;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latency.snapshot().percentile(50) / 1e3;
+    }
+
+    @Override
+    public double getP90Micros() {
+        return latency.snapshot().percentile(90) / 1e3;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latency.snapshot().percentile(99) / 1e3;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latency.snapshot().percentile(99.9) / 1e3;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latency.snapshot().getMax() / 1e3;
+    }
+}
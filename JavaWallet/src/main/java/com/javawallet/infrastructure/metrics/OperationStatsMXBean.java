@@ -0,0 +1,15 @@
+package com.javawallet.infrastructure.metrics;
+
+import java.util.Map;
+
+public interface OperationStatsMXBean {
+    long getCount();
+    long getErrorCount();
+    Map<String, Long> getErrorsByType();
+    double getMeanMicros();
+    double getP50Micros();
+    double getP90Micros();
+    double getP99Micros();
+    double getP999Micros();
+    double getMaxMicros();
+}
@@ -0,0 +1,63 @@
+package com.javawallet.infrastructure.metrics;
+
+import com.javawallet.application.ports.ICategoryRepository;
+import com.javawallet.domain.model.Category;
+import com.javawallet.domain.model.CategoryRegistry;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.javawallet.infrastructure.metrics.TimedWalletRepository.time;
+
+public class TimedCategoryRepository implements ICategoryRepository {
+    private static final String GROUP = "CategoryRepository";
+
+    private final ICategoryRepository delegate;
+    private final OperationStats save;
+    private final OperationStats loadCategories;
+    private final OperationStats loadSubcategories;
+    private final OperationStats remove;
+    private final OperationStats getCategoryByUUID;
+    private final OperationStats loadRegistry;
+
+    public TimedCategoryRepository(ICategoryRepository delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.save = registry.stats(GROUP, "save");
+        this.loadCategories = registry.stats(GROUP, "loadCategories");
+        this.loadSubcategories = registry.stats(GROUP, "loadSubcategories");
+        this.remove = registry.stats(GROUP, "remove");
+        this.getCategoryByUUID = registry.stats(GROUP, "getCategoryByUUID");
+        this.loadRegistry = registry.stats(GROUP, "loadRegistry");
+    }
+
+    @Override
+    public void save(Category category) {
+        time(save, () -> { delegate.save(category); return null; });
+    }
+
+    @Override
+    public Collection<Category> loadCategories() {
+        return time(loadCategories, delegate::loadCategories);
+    }
+
+    @Override
+    public Collection<Category> loadSubcategories(UUID parentId) {
+        return time(loadSubcategories, () -> delegate.loadSubcategories(parentId));
+    }
+
+    @Override
+    public void remove(UUID id) {
+        time(remove, () -> { delegate.remove(id); return null; });
+    }
+
+    @Override
+    public Optional<Category> getCategoryByUUID(UUID id) {
+        return time(getCategoryByUUID, () -> delegate.getCategoryByUUID(id));
+    }
+
+    @Override
+    public CategoryRegistry loadRegistry() {
+        return time(loadRegistry, delegate::loadRegistry);
+    }
+}
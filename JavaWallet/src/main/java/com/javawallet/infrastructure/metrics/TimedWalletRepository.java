@@ -0,0 +1,106 @@
+package com.javawallet.infrastructure.metrics;
+
+import com.javawallet.application.ports.IWalletRepository;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.Wallet;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+// Times each call into the wrapped repository under WalletRepository/<method>, which separates
+// persistence latency from the command and rule time measured around it.
+public class TimedWalletRepository implements IWalletRepository {
+    private static final String GROUP = "WalletRepository";
+
+    private final IWalletRepository delegate;
+    private final OperationStats upsertWallet;
+    private final OperationStats saveChanges;
+    private final OperationStats saveChangesAtomically;
+    private final OperationStats loadWallets;
+    private final OperationStats getWalletByUUID;
+    private final OperationStats removeWallet;
+    private final OperationStats loadByWallet;
+    private final OperationStats loadByPeriod;
+    private final OperationStats loadByWalletAndPeriod;
+    private final OperationStats removeTransaction;
+
+    public TimedWalletRepository(IWalletRepository delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.upsertWallet = registry.stats(GROUP, "upsertWallet");
+        this.saveChanges = registry.stats(GROUP, "saveChanges");
+        this.saveChangesAtomically = registry.stats(GROUP, "saveChangesAtomically");
+        this.loadWallets = registry.stats(GROUP, "loadWallets");
+        this.getWalletByUUID = registry.stats(GROUP, "getWalletByUUID");
+        this.removeWallet = registry.stats(GROUP, "removeWallet");
+        this.loadByWallet = registry.stats(GROUP, "loadByWallet");
+        this.loadByPeriod = registry.stats(GROUP, "loadByPeriod");
+        this.loadByWalletAndPeriod = registry.stats(GROUP, "loadByWalletAndPeriod");
+        this.removeTransaction = registry.stats(GROUP, "removeTransaction");
+    }
+
+    @Override
+    public void upsertWallet(Wallet w) {
+        time(upsertWallet, () -> { delegate.upsertWallet(w); return null; });
+    }
+
+    @Override
+    public void saveChanges(Wallet w) {
+        time(saveChanges, () -> { delegate.saveChanges(w); return null; });
+    }
+
+    @Override
+    public void saveChangesAtomically(List<Wallet> wallets, Runnable change) {
+        time(saveChangesAtomically, () -> { delegate.saveChangesAtomically(wallets, change); return null; });
+    }
+
+    @Override
+    public Collection<Wallet> loadWallets() {
+        return time(loadWallets, delegate::loadWallets);
+    }
+
+    @Override
+    public Optional<Wallet> getWalletByUUID(UUID id) {
+        return time(getWalletByUUID, () -> delegate.getWalletByUUID(id));
+    }
+
+    @Override
+    public void removeWallet(UUID id) {
+        time(removeWallet, () -> { delegate.removeWallet(id); return null; });
+    }
+
+    @Override
+    public Collection<Transaction> loadByWallet(UUID id) {
+        return time(loadByWallet, () -> delegate.loadByWallet(id));
+    }
+
+    @Override
+    public Collection<Transaction> loadByPeriod(LocalDateTime start, LocalDateTime end) {
+        return time(loadByPeriod, () -> delegate.loadByPeriod(start, end));
+    }
+
+    @Override
+    public Collection<Transaction> loadByWalletAndPeriod(UUID walletId, LocalDateTime start, LocalDateTime end) {
+        return time(loadByWalletAndPeriod, () -> delegate.loadByWalletAndPeriod(walletId, start, end));
+    }
+
+    @Override
+    public boolean removeTransaction(UUID walletId, UUID transactionID) {
+        return time(removeTransaction, () -> delegate.removeTransaction(walletId, transactionID));
+    }
+
+    static <T> T time(OperationStats stats, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            stats.record(System.nanoTime() - start, null);
+            return result;
+        } catch (RuntimeException e) {
+            stats.record(System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+}
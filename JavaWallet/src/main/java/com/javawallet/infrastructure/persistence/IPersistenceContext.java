@@ -2,6 +2,7 @@ package com.javawallet.infrastructure.persistence;
 
 import com.javawallet.application.ports.ICategoryRepository;
 import com.javawallet.application.ports.IWalletRepository;
+import com.javawallet.infrastructure.persistence.cache.CachingWalletRepository;
 
 public class IPersistenceContext {
     private final IWalletRepository walletRepository;
@@ -19,4 +20,10 @@ public class IPersistenceContext {
     public ICategoryRepository getCategoryRepository() {
         return categoryRepository;
     }
+
+    // Same stores, with wallet lookups served from a bounded cache holding at most maxWeight
+    // wallets-plus-transactions.
+    public IPersistenceContext withWalletCache(long maxWeight) {
+        return new IPersistenceContext(new CachingWalletRepository(walletRepository, maxWeight), categoryRepository);
+    }
 }
@@ -0,0 +1,8 @@
+package com.javawallet.infrastructure.persistence.cache;
+
+public record CacheStats(long hits, long misses, long evictions, int size, long weight, long maxWeight) {
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
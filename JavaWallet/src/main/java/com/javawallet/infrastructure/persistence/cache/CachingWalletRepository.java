@@ -0,0 +1,201 @@
+package com.javawallet.infrastructure.persistence.cache;
+
+import com.javawallet.application.ports.IWalletRepository;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.Wallet;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Read-through, write-through cache in front of any IWalletRepository. Wallets are weighted by
+// 1 + transaction count against one global bound; entries live in lock-striped segments, each an
+// access-ordered LRU, and eviction takes the least recently used wallets of the inserting segment
+// first, then of the following ones. Writes go to the delegate first and only then refresh the
+// cache, so a failed write never leaves a cached state the store does not have. Each segment counts
+// its invalidations; a load or write that overlapped one does not fill the cache, so a wallet read
+// before a concurrent remove cannot be put back afterwards.
+public class CachingWalletRepository implements IWalletRepository {
+    private static final int SEGMENTS = 16;
+
+    private final IWalletRepository delegate;
+    private final long maxWeight;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final AtomicLong weight = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingWalletRepository(IWalletRepository delegate, long maxWeight) {
+        if (maxWeight < 1) throw new IllegalArgumentException("Cache weight bound must be positive");
+        this.delegate = delegate;
+        this.maxWeight = maxWeight;
+        for (int i = 0; i < SEGMENTS; i++) segments[i] = new Segment();
+    }
+
+    @Override
+    public Optional<Wallet> getWalletByUUID(UUID id) {
+        Wallet cached = segmentFor(id).get(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        long generation = segmentFor(id).generation();
+        Optional<Wallet> loaded = delegate.getWalletByUUID(id);
+        loaded.ifPresent(w -> cache(w, generation));
+        return loaded;
+    }
+
+    @Override
+    public void upsertWallet(Wallet w) {
+        long generation = segmentFor(w.getId()).generation();
+        delegate.upsertWallet(w);
+        cache(w, generation);
+    }
+
+    @Override
+    public void saveChanges(Wallet w) {
+        long generation = segmentFor(w.getId()).generation();
+        delegate.saveChanges(w);
+        cache(w, generation);
+    }
+
+    @Override
+    public void saveChangesAtomically(List<Wallet> wallets, Runnable change) {
+        long[] generations = new long[wallets.size()];
+        for (int i = 0; i < generations.length; i++) generations[i] = segmentFor(wallets.get(i).getId()).generation();
+        delegate.saveChangesAtomically(wallets, change);
+        for (int i = 0; i < generations.length; i++) cache(wallets.get(i), generations[i]);
+    }
+
+    @Override
+    public void removeWallet(UUID id) {
+        try {
+            delegate.removeWallet(id);
+        } finally {
+            segmentFor(id).remove(id);
+        }
+    }
+
+    // The delegate mutates its own copy of the wallet, which may not be the cached instance.
+    @Override
+    public boolean removeTransaction(UUID walletId, UUID transactionID) {
+        try {
+            return delegate.removeTransaction(walletId, transactionID);
+        } finally {
+            segmentFor(walletId).remove(walletId);
+        }
+    }
+
+    @Override
+    public Collection<Wallet> loadWallets() {
+        return delegate.loadWallets();
+    }
+
+    @Override
+    public Collection<Transaction> loadByWallet(UUID id) {
+        return delegate.loadByWallet(id);
+    }
+
+    @Override
+    public Collection<Transaction> loadByPeriod(LocalDateTime start, LocalDateTime end) {
+        return delegate.loadByPeriod(start, end);
+    }
+
+    @Override
+    public Collection<Transaction> loadByWalletAndPeriod(UUID walletId, LocalDateTime start, LocalDateTime end) {
+        return delegate.loadByWalletAndPeriod(walletId, start, end);
+    }
+
+    public void invalidate(UUID id) {
+        segmentFor(id).remove(id);
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) segment.clear();
+    }
+
+    public CacheStats getStats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size, weight.get(), maxWeight);
+    }
+
+    private void cache(Wallet w, long generation) {
+        int index = indexOf(w.getId());
+        if (!segments[index].put(w, 1L + w.getTransactionCount(), generation)) return;
+        // Segments are locked one at a time; a wallet heavier than the whole bound is kept alone.
+        for (int i = 0; i < SEGMENTS && weight.get() > maxWeight; i++) {
+            segments[(index + i) & (SEGMENTS - 1)].evict(w.getId());
+        }
+    }
+
+    private Segment segmentFor(UUID id) {
+        return segments[indexOf(id)];
+    }
+
+    private static int indexOf(UUID id) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & (SEGMENTS - 1);
+    }
+
+    private final class Segment {
+        private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long generation;
+
+        private synchronized Wallet get(UUID id) {
+            Entry entry = entries.get(id);
+            return entry == null ? null : entry.wallet;
+        }
+
+        private synchronized long generation() {
+            return generation;
+        }
+
+        // Skips the fill if the segment was invalidated since `expected` was read.
+        private synchronized boolean put(Wallet w, long entryWeight, long expected) {
+            if (generation != expected) return false;
+            Entry previous = entries.put(w.getId(), new Entry(w, entryWeight));
+            weight.addAndGet(previous == null ? entryWeight : entryWeight - previous.weight);
+            return true;
+        }
+
+        // Drops least recently used entries, sparing `keep`, until the cache is back under its bound.
+        private synchronized void evict(UUID keep) {
+            Iterator<Map.Entry<UUID, Entry>> eldest = entries.entrySet().iterator();
+            while (weight.get() > maxWeight && eldest.hasNext()) {
+                Map.Entry<UUID, Entry> victim = eldest.next();
+                if (victim.getKey().equals(keep)) continue;
+                eldest.remove();
+                weight.addAndGet(-victim.getValue().weight);
+                evictions.increment();
+            }
+        }
+
+        private synchronized void remove(UUID id) {
+            generation++;
+            Entry entry = entries.remove(id);
+            if (entry != null) weight.addAndGet(-entry.weight);
+        }
+
+        private synchronized void clear() {
+            generation++;
+            entries.values().forEach(e -> weight.addAndGet(-e.weight));
+            entries.clear();
+        }
+    }
+
+    private record Entry(Wallet wallet, long weight) {}
+}
@@ -0,0 +1,73 @@
+package com.javawallet.infrastructure.persistence.file;
+
+import com.javawallet.application.ports.IExchangeRateRepository;
+import com.javawallet.domain.model.CurrencyCode;
+import com.javawallet.domain.model.ExchangeRate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Reads rates from local CSV files, one quote per line: date,from,to,rate (e.g. 2024-01-31,USD,EUR,0.9234).
+// Blank lines and lines starting with '#' are ignored. A directory is read file by file in name order.
+public class FileExchangeRateRepository implements IExchangeRateRepository {
+    private final Path path;
+
+    public FileExchangeRateRepository(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public Collection<ExchangeRate> loadRates() {
+        List<ExchangeRate> rates = new ArrayList<>();
+        try {
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.list(path)) {
+                    for (Path file : files.filter(Files::isRegularFile).sorted().toList()) read(file, rates);
+                }
+            } else {
+                read(path, rates);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rates;
+    }
+
+    private static void read(Path file, List<ExchangeRate> rates) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] fields = line.split(",");
+                if (fields.length != 4) throw invalid(file, number, "expected date,from,to,rate");
+                try {
+                    rates.add(new ExchangeRate(
+                            CurrencyCode.of(fields[1].trim()),
+                            CurrencyCode.of(fields[2].trim()),
+                            LocalDate.parse(fields[0].trim()),
+                            new BigDecimal(fields[3].trim())));
+                } catch (DateTimeParseException | IllegalArgumentException e) {
+                    throw invalid(file, number, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static IllegalArgumentException invalid(Path file, int line, String reason) {
+        return new IllegalArgumentException("Invalid exchange rate at " + file + ":" + line + ": " + reason);
+    }
+}
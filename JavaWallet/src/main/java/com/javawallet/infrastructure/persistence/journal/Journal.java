@@ -0,0 +1,224 @@
+package com.javawallet.infrastructure.persistence.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Header: magic, version, journal id, then the id and position of the segment this one continues
+// (0 for a journal that starts from empty state). A continuation segment only replays on top of a
+// snapshot taken at exactly that position.
+final class Journal implements Closeable {
+    private static final int MAGIC = 0x4A574A4C;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int INITIAL_CAPACITY = 1 << 20;
+
+    private final Path file;
+    private final RecordWriter scratch = new RecordWriter(4096);
+    private final CRC32 crc = new CRC32();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private FileChannel channel;
+    private long id;
+    private long parentId;
+    private long parentPosition;
+    private MappedByteBuffer map;
+    private int position;
+    private volatile long durable;
+
+    private Journal(Path file, FileChannel channel) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) throw new IOException("Journal larger than 2 GiB is not supported");
+        this.map = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, INITIAL_CAPACITY));
+        if (size < HEADER_SIZE || map.getInt(0) == 0) {
+            this.id = newId();
+            writeHeader(map, id, 0, 0);
+        } else {
+            if (map.getInt(0) != MAGIC) throw new IOException("Not a wallet journal");
+            if (map.getInt(4) != VERSION) throw new IOException("Unsupported journal version " + map.getInt(4));
+            this.id = map.getLong(8);
+            this.parentId = map.getLong(16);
+            this.parentPosition = map.getLong(24);
+        }
+        this.position = HEADER_SIZE;
+    }
+
+    static Journal open(Path file, Consumer<ByteBuffer> replay) throws IOException {
+        return open(file, 0, HEADER_SIZE, replay);
+    }
+
+    static Journal open(Path file, long expectedId, long fromPosition, Consumer<ByteBuffer> replay) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            Journal journal = new Journal(file, channel);
+            journal.replay(journal.startFor(expectedId, fromPosition), replay);
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    synchronized long id() {
+        return id;
+    }
+
+    synchronized long position() {
+        return position;
+    }
+
+    synchronized long append(Consumer<RecordWriter> encoder) {
+        encoder.accept(scratch.clear());
+        ByteBuffer payload = scratch.flip();
+        int length = payload.remaining();
+        ensureCapacity(RECORD_HEADER_SIZE + length + Integer.BYTES);
+        crc.reset();
+        crc.update(payload.duplicate());
+        map.putInt(position, length);
+        map.putInt(position + Integer.BYTES, (int) crc.getValue());
+        map.put(position + RECORD_HEADER_SIZE, payload, payload.position(), length);
+        position += RECORD_HEADER_SIZE + length;
+        map.putInt(position, 0);
+        return position;
+    }
+
+    synchronized void force() {
+        map.force();
+        durable = position;
+    }
+
+    // Group commit: returns once everything up to `upTo` is on disk. The force runs outside the append
+    // monitor, so writers keep appending meanwhile and the next waiter's force covers all of them;
+    // callers already covered by a finished force return without touching the disk.
+    void sync(long upTo) {
+        if (upTo <= durable) return;
+        syncLock.lock();
+        try {
+            if (upTo <= durable) return;
+            MappedByteBuffer target;
+            long covered;
+            synchronized (this) {
+                target = map;
+                covered = position;
+            }
+            target.force();
+            durable = covered;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Drops everything before `from`, which a durable snapshot already covers: the remaining records are
+    // copied into a fresh segment that atomically replaces the file. Everything is on disk afterwards,
+    // so marks handed out before the rotation count as synced even though positions restart lower.
+    void rotate(long from) {
+        syncLock.lock();
+        try {
+            synchronized (this) {
+                if (from <= HEADER_SIZE || from > position) return;
+                int tail = (int) (position - from);
+                long nextId = newId();
+                Path next = file.resolveSibling(file.getFileName() + ".next");
+                FileChannel nextChannel = FileChannel.open(next,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                MappedByteBuffer nextMap;
+                try {
+                    nextMap = nextChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                            Math.max(INITIAL_CAPACITY, HEADER_SIZE + tail + Integer.BYTES));
+                    writeHeader(nextMap, nextId, id, from);
+                    nextMap.put(HEADER_SIZE, map, (int) from, tail);
+                    nextMap.putInt(HEADER_SIZE + tail, 0);
+                    nextMap.force();
+                    Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException | RuntimeException e) {
+                    nextChannel.close();
+                    Files.deleteIfExists(next);
+                    throw e;
+                }
+                channel.close();
+                channel = nextChannel;
+                map = nextMap;
+                parentId = id;
+                parentPosition = from;
+                id = nextId;
+                position = HEADER_SIZE + tail;
+                durable = position;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        map.force();
+        channel.close();
+    }
+
+    // Where replay starts on top of a snapshot taken at (snapshotId, snapshotPosition); snapshotId 0 means
+    // there is no snapshot. A continuation segment without the snapshot it continues is missing history.
+    private long startFor(long snapshotId, long snapshotPosition) throws IOException {
+        if (snapshotId != 0 && snapshotId == id) return snapshotPosition;
+        if (parentId == 0) return HEADER_SIZE;
+        if (snapshotId == parentId && snapshotPosition == parentPosition) return HEADER_SIZE;
+        throw new IOException("Journal segment does not continue the given snapshot");
+    }
+
+    private static long newId() {
+        return ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    }
+
+    private static void writeHeader(MappedByteBuffer map, long id, long parentId, long parentPosition) {
+        map.putInt(0, MAGIC);
+        map.putInt(4, VERSION);
+        map.putLong(8, id);
+        map.putLong(16, parentId);
+        map.putLong(24, parentPosition);
+    }
+
+    private void replay(long fromPosition, Consumer<ByteBuffer> replay) {
+        int capacity = map.capacity();
+        int pos = HEADER_SIZE;
+        while (pos + RECORD_HEADER_SIZE <= capacity) {
+            int length = map.getInt(pos);
+            if (length <= 0 || length > capacity - pos - RECORD_HEADER_SIZE) break;
+            ByteBuffer payload = map.slice(pos + RECORD_HEADER_SIZE, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != map.getInt(pos + Integer.BYTES)) break;
+            if (pos >= fromPosition) replay.accept(payload);
+            pos += RECORD_HEADER_SIZE + length;
+        }
+        position = pos;
+        if (pos + Integer.BYTES <= capacity) map.putInt(pos, 0);
+    }
+
+    private void ensureCapacity(int bytes) {
+        long required = (long) position + bytes;
+        if (required <= map.capacity()) return;
+        long grown = Math.max((long) map.capacity() * 2, required);
+        if (grown > Integer.MAX_VALUE) grown = Integer.MAX_VALUE;
+        if (required > grown) throw new IllegalStateException("Journal is full");
+        try {
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, grown);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.javawallet.infrastructure.persistence.journal;
+
+import com.javawallet.application.ports.ICategoryRepository;
+import com.javawallet.application.ports.IGroupCommit;
+import com.javawallet.application.ports.IWalletRepository;
+import com.javawallet.domain.factory.IWalletFactory;
+import com.javawallet.domain.model.Category;
+import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.Wallet;
+import com.javawallet.domain.model.WalletDelta;
+import com.javawallet.domain.model.WalletType;
+import com.javawallet.infrastructure.persistence.memory.InMemoryWalletRepository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class JournalRepository implements IWalletRepository, ICategoryRepository, IGroupCommit, Closeable {
+    private final Journal journal;
+    private final InMemoryWalletRepository wallets = new InMemoryWalletRepository();
+    private final Map<UUID, JournaledWallet> journaled = new ConcurrentHashMap<>();
+    private final Map<UUID, Category> categories = new ConcurrentHashMap<>();
+
+    public JournalRepository(Path file, IWalletFactory walletFactory) {
+        this(file, null, walletFactory);
+    }
+
+    public JournalRepository(Path file, Path snapshot, IWalletFactory walletFactory) {
+        RestoredState state = new RestoredState();
+        try {
+            if (snapshot != null && Files.exists(snapshot)) {
+                Snapshot.Header header = Snapshot.read(snapshot, state);
+                this.journal = Journal.open(file, header.journalId(), header.journalPosition(), state::apply);
+            } else {
+                this.journal = Journal.open(file, state::apply);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        categories.putAll(state.categories);
+        for (RestoredState.RestoredWallet restored : state.wallets.values()) {
+            Wallet w = walletFactory.restore(restored.id, restored.name, restored.type, restored.balance, restored.transactions.values());
+            wallets.upsertWallet(w);
+            JournaledWallet j = new JournaledWallet(w);
+            j.transactionIds.addAll(restored.transactions.keySet());
+            j.balance = restored.balance;
+            journaled.put(w.getId(), j);
+        }
+    }
+
+    @Override
+    public void upsertWallet(Wallet w) {
+        JournaledWallet state = journaled.computeIfAbsent(w.getId(), id -> new JournaledWallet(w));
+        synchronized (state) {
+            journalChanges(w, state);
+            wallets.upsertWallet(w);
+        }
+    }
+
+    @Override
+    public void saveChanges(Wallet w) {
+        JournaledWallet state = journaled.get(w.getId());
+        if (state == null) {
+            upsertWallet(w);
+            return;
+        }
+        synchronized (state) {
+            journalDelta(state, w.drainChanges());
+        }
+    }
+
+    // Journals only what changed since the last drain; the caller holds the wallet's journal state.
+    private void journalDelta(JournaledWallet state, WalletDelta delta) {
+        if (!delta.isEmpty()) {
+            Changes changes = changes(state, delta);
+            journal.append(out -> {
+                out.putByte(RecordType.WALLET_CHANGED.code());
+                changes.write(out);
+            });
+            state.balance = delta.getBalance();
+        }
+        wallets.applyChanges(delta);
+    }
+
+    // Holds every involved wallet's journal state while the change runs and drains, so no concurrent
+    // saveChanges can persist one side on its own; all deltas then go into one WALLETS_CHANGED record.
+    @Override
+    public void saveChangesAtomically(List<Wallet> ws, Runnable change) {
+        List<Wallet> ordered = new ArrayList<>(ws);
+        ordered.sort(Comparator.comparing(Wallet::getId));
+        List<JournaledWallet> states = new ArrayList<>(ordered.size());
+        for (Wallet w : ordered) {
+            JournaledWallet state = journaled.get(w.getId());
+            if (state == null) {
+                IWalletRepository.super.saveChangesAtomically(ws, change);
+                return;
+            }
+            states.add(state);
+        }
+        lockAndSave(ordered, states, 0, change);
+    }
+
+    private void lockAndSave(List<Wallet> ordered, List<JournaledWallet> states, int i, Runnable change) {
+        if (i < states.size()) {
+            synchronized (states.get(i)) {
+                lockAndSave(ordered, states, i + 1, change);
+            }
+            return;
+        }
+        change.run();
+        List<WalletDelta> deltas = new ArrayList<>(ordered.size());
+        List<Changes> changes = new ArrayList<>(ordered.size());
+        for (int k = 0; k < ordered.size(); k++) {
+            WalletDelta delta = ordered.get(k).drainChanges();
+            deltas.add(delta);
+            if (!delta.isEmpty()) changes.add(changes(states.get(k), delta));
+        }
+        if (!changes.isEmpty()) {
+            journal.append(out -> {
+                out.putByte(RecordType.WALLETS_CHANGED.code()).putInt(changes.size());
+                changes.forEach(c -> c.write(out));
+            });
+        }
+        for (int k = 0; k < ordered.size(); k++) {
+            if (!deltas.get(k).isEmpty()) states.get(k).balance = deltas.get(k).getBalance();
+            wallets.applyChanges(deltas.get(k));
+        }
+    }
+
+    private static Changes changes(JournaledWallet state, WalletDelta delta) {
+        List<Transaction> added = new ArrayList<>(delta.getAdded().size());
+        for (Transaction t : delta.getAdded()) {
+            if (state.transactionIds.add(t.getId())) added.add(t);
+        }
+        List<UUID> removed = new ArrayList<>(delta.getRemoved().size());
+        for (Transaction t : delta.getRemoved()) {
+            if (state.transactionIds.remove(t.getId())) removed.add(t.getId());
+        }
+        return new Changes(state.id, delta.getBalance(), added, removed);
+    }
+
+    @Override
+    public Collection<Wallet> loadWallets() {
+        return wallets.loadWallets();
+    }
+
+    @Override
+    public Optional<Wallet> getWalletByUUID(UUID id) {
+        return wallets.getWalletByUUID(id);
+    }
+
+    @Override
+    public void removeWallet(UUID id) {
+        JournaledWallet state = journaled.remove(id);
+        if (state == null) return;
+        synchronized (state) {
+            wallets.removeWallet(id);
+            journal.append(out -> out.putByte(RecordType.WALLET_REMOVED.code()).putUuid(id));
+        }
+    }
+
+    @Override
+    public Collection<Transaction> loadByWallet(UUID id) {
+        return wallets.loadByWallet(id);
+    }
+
+    @Override
+    public Collection<Transaction> loadByPeriod(LocalDateTime start, LocalDateTime end) {
+        return wallets.loadByPeriod(start, end);
+    }
+
+    @Override
+    public Collection<Transaction> loadByWalletAndPeriod(UUID walletId, LocalDateTime start, LocalDateTime end) {
+        return wallets.loadByWalletAndPeriod(walletId, start, end);
+    }
+
+    @Override
+    public boolean removeTransaction(UUID walletId, UUID transactionID) {
+        JournaledWallet state = journaled.get(walletId);
+        if (state == null) return false;
+        synchronized (state) {
+            if (!wallets.removeTransaction(walletId, transactionID)) return false;
+            journalDelta(state, wallets.getWalletByUUID(walletId).get().drainChanges());
+            return true;
+        }
+    }
+
+    @Override
+    public void save(Category category) {
+        categories.put(category.getId(), category);
+        journal.append(out -> out.putByte(RecordType.CATEGORY_SAVED.code())
+                .putUuid(category.getId())
+                .putString(category.getName())
+                .putNullableUuid(category.getParent() == null ? null : category.getParent().getId()));
+        category.getChildren().forEach(this::save);
+    }
+
+    @Override
+    public Collection<Category> loadCategories() {
+        return new ArrayList<>(categories.values());
+    }
+
+    @Override
+    public Optional<Category> getCategoryByUUID(UUID id) {
+        return Optional.ofNullable(categories.get(id));
+    }
+
+    @Override
+    public Collection<Category> loadSubcategories(UUID parentId) {
+        Category parent = categories.get(parentId);
+        if (parent == null) return Collections.emptyList();
+        List<Category> result = new ArrayList<>();
+        parent.getChildren().forEach(c -> {
+            if (categories.containsKey(c.getId())) result.add(c);
+        });
+        return result;
+    }
+
+    @Override
+    public void remove(UUID id) {
+        Category category = categories.remove(id);
+        if (category == null) return;
+        journal.append(out -> out.putByte(RecordType.CATEGORY_REMOVED.code()).putUuid(id));
+        category.getChildren().forEach(c -> remove(c.getId()));
+    }
+
+    public void flush() {
+        journal.force();
+    }
+
+    @Override
+    public long mark() {
+        return journal.position();
+    }
+
+    @Override
+    public void sync(long mark) {
+        journal.sync(mark);
+    }
+
+    // Writes a snapshot and then drops the journal records it covers, so the journal only holds what
+    // happened since the last checkpoint. From then on the journal must be reopened with this snapshot.
+    // Rows come from the wallet as of its last drain, which is what the journal has recorded.
+    public synchronized void checkpoint(Path snapshot) {
+        long id = journal.id();
+        long position = journal.position();
+        List<RestoredState.RestoredWallet> images = new ArrayList<>();
+        for (JournaledWallet state : journaled.values()) {
+            synchronized (state) {
+                if (state.balance == null) continue;
+                Optional<Wallet> w = wallets.getWalletByUUID(state.id);
+                if (w.isEmpty()) continue;
+                RestoredState.RestoredWallet image = new RestoredState.RestoredWallet(state.id, state.name, state.type);
+                image.balance = state.balance;
+                for (Transaction t : w.get().getDrainedTransactions()) {
+                    if (state.transactionIds.contains(t.getId())) image.add(t);
+                }
+                images.add(image);
+            }
+        }
+        try {
+            Snapshot.write(snapshot, new Snapshot.Header(id, position), new ArrayList<>(categories.values()), images);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        journal.rotate(position);
+    }
+
+    public ScheduledFuture<?> scheduleCheckpoints(ScheduledExecutorService executor, Path snapshot, Duration period) {
+        long millis = period.toMillis();
+        return executor.scheduleWithFixedDelay(() -> checkpoint(snapshot), millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    private void journalChanges(Wallet w, JournaledWallet state) {
+        if (state.balance == null) {
+            List<Transaction> transactions = w.getTransactionsSnapshot();
+            journal.append(out -> {
+                out.putByte(RecordType.WALLET_SAVED.code())
+                        .putUuid(w.getId())
+                        .putString(w.getName())
+                        .putByte(w.getType().ordinal())
+                        .putMoney(w.getBalance())
+                        .putInt(transactions.size());
+                transactions.forEach(t -> RestoredState.writeTransaction(out, t));
+            });
+            transactions.forEach(t -> state.transactionIds.add(t.getId()));
+            state.balance = w.getBalance();
+            return;
+        }
+
+        List<Transaction> added = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>();
+        for (Transaction t : w.getTransactionsSnapshot()) {
+            seen.add(t.getId());
+            if (state.transactionIds.add(t.getId())) added.add(t);
+        }
+        List<UUID> removed = new ArrayList<>();
+        Iterator<UUID> it = state.transactionIds.iterator();
+        while (it.hasNext()) {
+            UUID id = it.next();
+            if (!seen.contains(id)) {
+                removed.add(id);
+                it.remove();
+            }
+        }
+        Money balance = w.getBalance();
+        if (added.isEmpty() && removed.isEmpty() && balance.equals(state.balance)) return;
+
+        Changes changes = new Changes(w.getId(), balance, added, removed);
+        journal.append(out -> {
+            out.putByte(RecordType.WALLET_CHANGED.code());
+            changes.write(out);
+        });
+        state.balance = balance;
+    }
+
+    private record Changes(UUID walletId, Money balance, List<Transaction> added, List<UUID> removed) {
+        private void write(RecordWriter out) {
+            out.putUuid(walletId)
+                    .putMoney(balance)
+                    .putInt(added.size());
+            added.forEach(t -> RestoredState.writeTransaction(out, t));
+            out.putInt(removed.size());
+            removed.forEach(out::putUuid);
+        }
+    }
+
+    private static final class JournaledWallet {
+        private final UUID id;
+        private final String name;
+        private final WalletType type;
+        // Ids only: the wallet holds the rows, and a compact transaction store should not be undone here.
+        private final Set<UUID> transactionIds = new HashSet<>();
+        private Money balance;
+
+        private JournaledWallet(Wallet w) {
+            this.id = w.getId();
+            this.name = w.getName();
+            this.type = w.getType();
+        }
+    }
+}
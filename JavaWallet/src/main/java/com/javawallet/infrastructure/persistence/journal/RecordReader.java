@@ -0,0 +1,85 @@
+package com.javawallet.infrastructure.persistence.journal;
+
+import com.javawallet.domain.model.Money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+final class RecordReader {
+    private final ByteBuffer buffer;
+
+    RecordReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    int getByte() {
+        return buffer.get();
+    }
+
+    int getInt() {
+        return buffer.getInt();
+    }
+
+    long getLong() {
+        return buffer.getLong();
+    }
+
+    byte[] getBytes(int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    short[] getShorts(int length) {
+        short[] values = new short[length];
+        buffer.asShortBuffer().get(values);
+        buffer.position(buffer.position() + length * Short.BYTES);
+        return values;
+    }
+
+    int[] getInts(int length) {
+        int[] values = new int[length];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + length * Integer.BYTES);
+        return values;
+    }
+
+    long[] getLongs(int length) {
+        long[] values = new long[length];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + length * Long.BYTES);
+        return values;
+    }
+
+    UUID getUuid() {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    UUID getNullableUuid() {
+        return buffer.get() == 0 ? null : getUuid();
+    }
+
+    String getString() {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+        return new String(getBytes(length), StandardCharsets.UTF_8);
+    }
+
+    Money getMoney() {
+        String currency = getString();
+        if (buffer.get() == 0) return Money.ofMinor(buffer.getLong(), currency);
+        int scale = buffer.getInt();
+        BigInteger unscaled = new BigInteger(getBytes(buffer.getInt()));
+        return Money.of(new BigDecimal(unscaled, scale), currency);
+    }
+
+    LocalDateTime getDate() {
+        if (buffer.get() == 0) return null;
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,21 @@
+package com.javawallet.infrastructure.persistence.journal;
+
+enum RecordType {
+    WALLET_SAVED,
+    WALLET_CHANGED,
+    WALLET_REMOVED,
+    CATEGORY_SAVED,
+    CATEGORY_REMOVED,
+    // Several WALLET_CHANGED bodies written and replayed as one record, e.g. both sides of a transfer.
+    WALLETS_CHANGED;
+
+    private static final RecordType[] VALUES = values();
+
+    static RecordType of(int code) {
+        return VALUES[code];
+    }
+
+    int code() {
+        return ordinal();
+    }
+}
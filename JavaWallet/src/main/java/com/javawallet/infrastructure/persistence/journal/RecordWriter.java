@@ -0,0 +1,109 @@
+package com.javawallet.infrastructure.persistence.journal;
+
+import com.javawallet.domain.model.Money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+final class RecordWriter {
+    private ByteBuffer buffer;
+
+    RecordWriter(int initialCapacity) {
+        this.buffer = ByteBuffer.allocate(initialCapacity);
+    }
+
+    RecordWriter clear() {
+        buffer.clear();
+        return this;
+    }
+
+    ByteBuffer flip() {
+        return buffer.flip();
+    }
+
+    int size() {
+        return buffer.position();
+    }
+
+    // Overwrites a long already written at the given offset of the buffered bytes.
+    void patchLong(int offset, long value) {
+        buffer.putLong(offset, value);
+    }
+
+    void drainTo(WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    RecordWriter putByte(int value) {
+        ensure(Byte.BYTES);
+        buffer.put((byte) value);
+        return this;
+    }
+
+    RecordWriter putShort(int value) {
+        ensure(Short.BYTES);
+        buffer.putShort((short) value);
+        return this;
+    }
+
+    RecordWriter putInt(int value) {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+        return this;
+    }
+
+    RecordWriter putLong(long value) {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+        return this;
+    }
+
+    RecordWriter putBytes(byte[] value) {
+        ensure(value.length);
+        buffer.put(value);
+        return this;
+    }
+
+    RecordWriter putUuid(UUID id) {
+        return putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+    }
+
+    RecordWriter putNullableUuid(UUID id) {
+        if (id == null) return putByte(0);
+        return putByte(1).putUuid(id);
+    }
+
+    RecordWriter putString(String value) {
+        if (value == null) return putInt(-1);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return putInt(bytes.length).putBytes(bytes);
+    }
+
+    RecordWriter putMoney(Money money) {
+        putString(money.getCurrency());
+        if (money.hasMinorUnits()) return putByte(0).putLong(money.getMinorUnits());
+        BigDecimal amount = money.getAmount();
+        byte[] unscaled = amount.unscaledValue().toByteArray();
+        return putByte(1).putInt(amount.scale()).putInt(unscaled.length).putBytes(unscaled);
+    }
+
+    RecordWriter putDate(LocalDateTime date) {
+        if (date == null) return putByte(0);
+        return putByte(1).putLong(date.toEpochSecond(ZoneOffset.UTC)).putInt(date.getNano());
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() >= bytes) return;
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        grown.put(buffer.flip());
+        buffer = grown;
+    }
+}
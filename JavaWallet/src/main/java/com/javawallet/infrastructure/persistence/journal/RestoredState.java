@@ -0,0 +1,116 @@
+package com.javawallet.infrastructure.persistence.journal;
+
+import com.javawallet.domain.model.Category;
+import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.TransactionBuilder;
+import com.javawallet.domain.model.TransactionType;
+import com.javawallet.domain.model.WalletType;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+final class RestoredState {
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+    private static final WalletType[] WALLET_TYPES = WalletType.values();
+
+    final Map<UUID, Category> allCategories = new HashMap<>();
+    final Map<UUID, Category> categories = new LinkedHashMap<>();
+    final Map<UUID, RestoredWallet> wallets = new LinkedHashMap<>();
+
+    void apply(ByteBuffer payload) {
+        RecordReader in = new RecordReader(payload);
+        switch (RecordType.of(in.getByte())) {
+            case WALLET_SAVED -> {
+                RestoredWallet w = new RestoredWallet(in.getUuid(), in.getString(), WALLET_TYPES[in.getByte()]);
+                w.balance = in.getMoney();
+                for (int i = in.getInt(); i > 0; i--) w.add(readTransaction(in));
+                wallets.put(w.id, w);
+            }
+            case WALLET_CHANGED -> applyChanges(in);
+            case WALLETS_CHANGED -> {
+                for (int n = in.getInt(); n > 0; n--) applyChanges(in);
+            }
+            case WALLET_REMOVED -> wallets.remove(in.getUuid());
+            case CATEGORY_SAVED -> saveCategory(in.getUuid(), in.getString(), in.getNullableUuid());
+            case CATEGORY_REMOVED -> categories.remove(in.getUuid());
+        }
+    }
+
+    private void applyChanges(RecordReader in) {
+        RestoredWallet w = wallets.get(in.getUuid());
+        Money balance = in.getMoney();
+        for (int i = in.getInt(); i > 0; i--) {
+            Transaction t = readTransaction(in);
+            if (w != null) w.add(t);
+        }
+        for (int i = in.getInt(); i > 0; i--) {
+            UUID id = in.getUuid();
+            if (w != null) w.transactions.remove(id);
+        }
+        if (w != null) w.balance = balance;
+    }
+
+    void saveCategory(UUID id, String name, UUID parentId) {
+        restoreCategory(id, name, parentId, true);
+    }
+
+    void restoreCategory(UUID id, String name, UUID parentId, boolean live) {
+        Category category = category(id, name);
+        Category parent = parentId == null ? null : allCategories.get(parentId);
+        if (parent != null && category.getParent() == null) parent.addSubcategory(category);
+        if (live) categories.put(id, category);
+    }
+
+    Category category(UUID id, String name) {
+        return allCategories.computeIfAbsent(id, k -> new Category(k, name));
+    }
+
+    static void writeTransaction(RecordWriter out, Transaction t) {
+        out.putUuid(t.getId())
+                .putByte(t.getType().ordinal())
+                .putMoney(t.getMoney())
+                .putDate(t.getDate());
+        Category category = t.getCategory();
+        out.putNullableUuid(category == null ? null : category.getId());
+        if (category != null) out.putString(category.getName());
+        out.putString(t.getNote());
+    }
+
+    private Transaction readTransaction(RecordReader in) {
+        UUID id = in.getUuid();
+        TransactionType type = TRANSACTION_TYPES[in.getByte()];
+        Money money = in.getMoney();
+        LocalDateTime date = in.getDate();
+        UUID categoryId = in.getNullableUuid();
+        Category category = categoryId == null ? null : category(categoryId, in.getString());
+        return new TransactionBuilder(money, type)
+                .withId(id)
+                .withDate(date)
+                .withCategory(category)
+                .withNote(in.getString())
+                .build();
+    }
+
+    static final class RestoredWallet {
+        final UUID id;
+        final String name;
+        final WalletType type;
+        final Map<UUID, Transaction> transactions = new LinkedHashMap<>();
+        Money balance;
+
+        RestoredWallet(UUID id, String name, WalletType type) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+        }
+
+        void add(Transaction t) {
+            transactions.put(t.getId(), t);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.javawallet.infrastructure.persistence.journal;
+
+import com.javawallet.domain.model.Category;
+import com.javawallet.domain.model.Money;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.TransactionBuilder;
+import com.javawallet.domain.model.TransactionType;
+import com.javawallet.domain.model.WalletType;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+// After magic and version the file is a run of length-prefixed sections: one for the header and
+// categories, then per wallet one for its fields and one per chunk of its transactions. A chunk ends at
+// CHUNK_ROWS rows or about CHUNK_BYTES, whichever comes first; each section is read or mapped on its own,
+// so neither the file nor a wallet's history has a size limit.
+final class Snapshot {
+    private static final int MAGIC = 0x4A57534E;
+    private static final int VERSION = 2;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int FLUSH_THRESHOLD = 1 << 20;
+    private static final int CHUNK_ROWS = 1 << 20;
+    private static final long CHUNK_BYTES = 1 << 28;
+    // Fixed columns plus room for an amount that does not fit in minor units.
+    private static final int ROW_BYTES = 64;
+    // Smaller sections are copied to the heap; mapping every small wallet would exhaust the map count.
+    private static final int MAP_THRESHOLD = 1 << 20;
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+    private static final WalletType[] WALLET_TYPES = WalletType.values();
+
+    record Header(long journalId, long journalPosition) {}
+
+    private Snapshot() {}
+
+    static void write(Path file,
+                      Header header,
+                      Collection<Category> categories,
+                      Collection<RestoredState.RestoredWallet> wallets) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            RecordWriter out = new RecordWriter(FLUSH_THRESHOLD + 4096);
+            out.putInt(MAGIC).putInt(VERSION);
+            long head = beginSection(out, channel);
+            out.putLong(header.journalId()).putLong(header.journalPosition());
+
+            Set<UUID> live = new HashSet<>();
+            categories.forEach(c -> live.add(c.getId()));
+            CategoryTable table = new CategoryTable();
+            categories.forEach(table::add);
+            wallets.forEach(w -> w.transactions.values().forEach(t -> {
+                if (t.getCategory() != null) table.add(t.getCategory());
+            }));
+            out.putInt(table.order.size());
+            for (Category c : table.order) {
+                out.putUuid(c.getId())
+                        .putString(c.getName())
+                        .putInt(c.getParent() == null ? -1 : table.indexOf(c.getParent()))
+                        .putByte(live.contains(c.getId()) ? 1 : 0);
+            }
+
+            out.putInt(wallets.size());
+            endSection(out, channel, head);
+            for (RestoredState.RestoredWallet w : wallets) {
+                writeWallet(out, channel, w, table);
+            }
+            out.drainTo(channel);
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Header read(Path file, RestoredState state) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer prologue = readFully(channel, 0, Integer.BYTES * 2);
+            if (prologue.getInt() != MAGIC) throw new IOException("Not a wallet snapshot");
+            int version = prologue.getInt();
+            if (version != VERSION) throw new IOException("Unsupported snapshot version " + version);
+            Sections sections = new Sections(channel, Integer.BYTES * 2);
+            RecordReader in = sections.next();
+            Header header = new Header(in.getLong(), in.getLong());
+
+            Category[] categories = new Category[in.getInt()];
+            for (int i = 0; i < categories.length; i++) {
+                UUID id = in.getUuid();
+                String name = in.getString();
+                int parent = in.getInt();
+                boolean live = in.getByte() == 1;
+                state.restoreCategory(id, name, parent < 0 ? null : categories[parent].getId(), live);
+                categories[i] = state.allCategories.get(id);
+            }
+
+            for (int i = in.getInt(); i > 0; i--) {
+                RestoredState.RestoredWallet w = readWallet(sections, categories);
+                state.wallets.put(w.id, w);
+            }
+            return header;
+        }
+    }
+
+    private static void writeWallet(RecordWriter out,
+                                    FileChannel channel,
+                                    RestoredState.RestoredWallet w,
+                                    CategoryTable table) throws IOException {
+        List<Transaction> all = new ArrayList<>(w.transactions.values());
+        long start = beginSection(out, channel);
+        out.putUuid(w.id)
+                .putString(w.name)
+                .putByte(w.type.ordinal())
+                .putMoney(w.balance)
+                .putInt(all.size());
+        endSection(out, channel, start);
+        for (int from = 0, to; from < all.size(); from = to) {
+            long bytes = 0;
+            for (to = from; to < all.size() && to - from < CHUNK_ROWS && bytes < CHUNK_BYTES; to++) {
+                String note = all.get(to).getNote();
+                // At most three UTF-8 bytes per char.
+                bytes += ROW_BYTES + (note == null ? 0 : 3L * note.length());
+            }
+            writeChunk(out, channel, all.subList(from, to), table);
+        }
+    }
+
+    private static void writeChunk(RecordWriter out,
+                                   FileChannel channel,
+                                   List<Transaction> transactions,
+                                   CategoryTable table) throws IOException {
+        long start = beginSection(out, channel);
+        out.putInt(transactions.size());
+        for (Transaction t : transactions) {
+            out.putUuid(t.getId());
+            drainIfFull(out, channel);
+        }
+        for (Transaction t : transactions) {
+            out.putByte(t.getType().ordinal());
+            drainIfFull(out, channel);
+        }
+
+        Map<String, Integer> currencies = new LinkedHashMap<>();
+        transactions.forEach(t -> currencies.putIfAbsent(t.getMoney().getCurrency(), currencies.size()));
+        out.putInt(currencies.size());
+        currencies.keySet().forEach(out::putString);
+        for (Transaction t : transactions) {
+            out.putShort(currencies.get(t.getMoney().getCurrency()));
+            drainIfFull(out, channel);
+        }
+
+        List<Integer> overflow = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            Money money = transactions.get(i).getMoney();
+            if (money.hasMinorUnits()) {
+                out.putLong(money.getMinorUnits());
+            } else {
+                overflow.add(i);
+                out.putLong(0);
+            }
+            drainIfFull(out, channel);
+        }
+        out.putInt(overflow.size());
+        for (int row : overflow) {
+            BigDecimal amount = transactions.get(row).getMoney().getAmount();
+            byte[] unscaled = amount.unscaledValue().toByteArray();
+            out.putInt(row).putInt(amount.scale()).putInt(unscaled.length).putBytes(unscaled);
+        }
+
+        for (Transaction t : transactions) {
+            out.putLong(t.getDate() == null ? NO_DATE : t.getDate().toEpochSecond(ZoneOffset.UTC));
+            drainIfFull(out, channel);
+        }
+        for (Transaction t : transactions) {
+            out.putInt(t.getDate() == null ? 0 : t.getDate().getNano());
+            drainIfFull(out, channel);
+        }
+        for (Transaction t : transactions) {
+            out.putInt(t.getCategory() == null ? -1 : table.indexOf(t.getCategory()));
+            drainIfFull(out, channel);
+        }
+        for (Transaction t : transactions) {
+            out.putString(t.getNote());
+            drainIfFull(out, channel);
+        }
+        endSection(out, channel, start);
+    }
+
+    private static RestoredState.RestoredWallet readWallet(Sections sections, Category[] categories) throws IOException {
+        RecordReader in = sections.next();
+        RestoredState.RestoredWallet w = new RestoredState.RestoredWallet(in.getUuid(), in.getString(), WALLET_TYPES[in.getByte()]);
+        w.balance = in.getMoney();
+        for (int remaining = in.getInt(); remaining > 0; ) {
+            int rows = readChunk(sections.next(), w, categories);
+            if (rows <= 0 || rows > remaining) throw new IOException("Corrupt snapshot chunk in wallet " + w.id);
+            remaining -= rows;
+        }
+        return w;
+    }
+
+    private static int readChunk(RecordReader in, RestoredState.RestoredWallet w, Category[] categories) {
+        int n = in.getInt();
+
+        long[] ids = in.getLongs(n * 2);
+        byte[] types = in.getBytes(n);
+        String[] currencies = new String[in.getInt()];
+        for (int i = 0; i < currencies.length; i++) currencies[i] = in.getString();
+        short[] currency = in.getShorts(n);
+        long[] amounts = in.getLongs(n);
+        Map<Integer, BigDecimal> overflow = new HashMap<>();
+        for (int i = in.getInt(); i > 0; i--) {
+            int row = in.getInt();
+            int scale = in.getInt();
+            overflow.put(row, new BigDecimal(new BigInteger(in.getBytes(in.getInt())), scale));
+        }
+        long[] seconds = in.getLongs(n);
+        int[] nanos = in.getInts(n);
+        int[] category = in.getInts(n);
+
+        for (int i = 0; i < n; i++) {
+            String code = currencies[currency[i]];
+            BigDecimal big = overflow.get(i);
+            Money money = big == null ? Money.ofMinor(amounts[i], code) : Money.of(big, code);
+            LocalDateTime date = seconds[i] == NO_DATE ? null : LocalDateTime.ofEpochSecond(seconds[i], nanos[i], ZoneOffset.UTC);
+            w.add(new TransactionBuilder(money, TRANSACTION_TYPES[types[i]])
+                    .withId(new UUID(ids[2 * i], ids[2 * i + 1]))
+                    .withDate(date)
+                    .withCategory(category[i] < 0 ? null : categories[category[i]])
+                    .withNote(in.getString())
+                    .build());
+        }
+        return n;
+    }
+
+    private static void drainIfFull(RecordWriter out, FileChannel channel) throws IOException {
+        if (out.size() >= FLUSH_THRESHOLD) out.drainTo(channel);
+    }
+
+    // Reserves the section's length prefix and returns its file position.
+    private static long beginSection(RecordWriter out, FileChannel channel) throws IOException {
+        long start = channel.position() + out.size();
+        out.putLong(0);
+        return start;
+    }
+
+    // Fills in the length prefix: in the buffer while it is still there, otherwise in the file.
+    private static void endSection(RecordWriter out, FileChannel channel, long start) throws IOException {
+        long length = channel.position() + out.size() - start - Long.BYTES;
+        long buffered = start - channel.position();
+        if (buffered >= 0) {
+            out.patchLong((int) buffered, length);
+            return;
+        }
+        ByteBuffer prefix = ByteBuffer.allocate(Long.BYTES).putLong(0, length);
+        while (prefix.hasRemaining()) channel.write(prefix, start + prefix.position());
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new EOFException("Snapshot is truncated");
+        }
+        return buffer.flip();
+    }
+
+    private static final class Sections {
+        private final FileChannel channel;
+        private long position;
+
+        private Sections(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        private RecordReader next() throws IOException {
+            long length = readFully(channel, position, Long.BYTES).getLong();
+            long start = position + Long.BYTES;
+            if (length < 0 || start + length > channel.size()) throw new IOException("Snapshot is truncated at " + position);
+            if (length > Integer.MAX_VALUE) throw new IOException("Snapshot section at " + position + " is larger than 2 GiB");
+            position = start + length;
+            ByteBuffer buffer = length < MAP_THRESHOLD
+                    ? readFully(channel, start, (int) length)
+                    : channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            return new RecordReader(buffer);
+        }
+    }
+
+    private static final class CategoryTable {
+        private final List<Category> order = new ArrayList<>();
+        private final Map<UUID, Integer> index = new HashMap<>();
+
+        private int add(Category c) {
+            Integer i = index.get(c.getId());
+            if (i != null) return i;
+            if (c.getParent() != null) add(c.getParent());
+            index.put(c.getId(), order.size());
+            order.add(c);
+            return order.size() - 1;
+        }
+
+        private int indexOf(Category c) {
+            return index.get(c.getId());
+        }
+    }
+}
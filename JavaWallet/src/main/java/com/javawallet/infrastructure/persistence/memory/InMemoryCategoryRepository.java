@@ -0,0 +1,45 @@
+package com.javawallet.infrastructure.persistence.memory;
+
+import com.javawallet.application.ports.ICategoryRepository;
+import com.javawallet.domain.model.Category;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryCategoryRepository implements ICategoryRepository {
+    private final Map<UUID, Category> categories = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(Category category) {
+        categories.put(category.getId(), category);
+        category.getChildren().forEach(this::save);
+    }
+
+    @Override
+    public Collection<Category> loadCategories() {
+        return new ArrayList<>(categories.values());
+    }
+
+    @Override
+    public Optional<Category> getCategoryByUUID(UUID id) {
+        return Optional.ofNullable(categories.get(id));
+    }
+
+    @Override
+    public Collection<Category> loadSubcategories(UUID parentId) {
+        Category parent = categories.get(parentId);
+        if (parent == null) return Collections.emptyList();
+        List<Category> result = new ArrayList<>();
+        parent.getChildren().forEach(c -> {
+            if (categories.containsKey(c.getId())) result.add(c);
+        });
+        return result;
+    }
+
+    @Override
+    public void remove(UUID id) {
+        Category category = categories.remove(id);
+        if (category == null) return;
+        category.getChildren().forEach(c -> remove(c.getId()));
+    }
+}
@@ -0,0 +1,178 @@
+package com.javawallet.infrastructure.persistence.memory;
+
+import com.javawallet.application.ports.IWalletRepository;
+import com.javawallet.domain.model.Transaction;
+import com.javawallet.domain.model.Wallet;
+import com.javawallet.domain.model.WalletDelta;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// The indexes hold primitive (date, id) keys mapped to the owning wallet's id, never the transactions
+// themselves: rows are looked up in the wallet when read, so a compact transaction store is not undone
+// by the index. Undated transactions are only kept by id.
+public class InMemoryWalletRepository implements IWalletRepository {
+    private final Map<UUID, WalletIndex> wallets = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<TransactionKey, UUID> transactionsByDate = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void upsertWallet(Wallet w) {
+        WalletIndex index = wallets.computeIfAbsent(w.getId(), WalletIndex::new);
+        synchronized (index) {
+            index.wallet = w;
+            w.drainChanges();
+            Set<UUID> seen = new HashSet<>();
+            for (Transaction t : w.getTransactionsSnapshot()) {
+                seen.add(t.getId());
+                index(index, TransactionKey.of(t));
+            }
+            for (TransactionKey key : index.byDate.keySet()) {
+                if (!seen.contains(key.id())) deindex(index, key);
+            }
+            index.undated.retainAll(seen);
+        }
+    }
+
+    @Override
+    public void saveChanges(Wallet w) {
+        WalletIndex index = wallets.get(w.getId());
+        if (index == null) {
+            upsertWallet(w);
+            return;
+        }
+        synchronized (index) {
+            index.wallet = w;
+            applyChanges(index, w.drainChanges());
+        }
+    }
+
+    public void applyChanges(WalletDelta delta) {
+        WalletIndex index = wallets.get(delta.getWalletId());
+        if (index == null) return;
+        synchronized (index) {
+            applyChanges(index, delta);
+        }
+    }
+
+    @Override
+    public Collection<Wallet> loadWallets() {
+        List<Wallet> result = new ArrayList<>(wallets.size());
+        wallets.values().forEach(index -> result.add(index.wallet));
+        return result;
+    }
+
+    @Override
+    public Optional<Wallet> getWalletByUUID(UUID id) {
+        WalletIndex index = wallets.get(id);
+        return index == null ? Optional.empty() : Optional.of(index.wallet);
+    }
+
+    @Override
+    public void removeWallet(UUID id) {
+        WalletIndex index = wallets.remove(id);
+        if (index == null) return;
+        synchronized (index) {
+            index.byDate.keySet().forEach(transactionsByDate::remove);
+            index.byDate.clear();
+            index.undated.clear();
+        }
+    }
+
+    @Override
+    public Collection<Transaction> loadByWallet(UUID id) {
+        WalletIndex index = wallets.get(id);
+        if (index == null) return Collections.emptyList();
+        Wallet w = index.wallet;
+        List<Transaction> result = new ArrayList<>();
+        index.byDate.keySet().forEach(key -> w.getTransaction(key.id()).ifPresent(result::add));
+        index.undated.forEach(transactionId -> w.getTransaction(transactionId).ifPresent(result::add));
+        return result;
+    }
+
+    @Override
+    public Collection<Transaction> loadByPeriod(LocalDateTime start, LocalDateTime end) {
+        List<Transaction> result = new ArrayList<>();
+        range(transactionsByDate, start, end).forEach((key, walletId) -> {
+            WalletIndex index = wallets.get(walletId);
+            if (index != null) index.wallet.getTransaction(key.id()).ifPresent(result::add);
+        });
+        return result;
+    }
+
+    @Override
+    public Collection<Transaction> loadByWalletAndPeriod(UUID walletId, LocalDateTime start, LocalDateTime end) {
+        WalletIndex index = wallets.get(walletId);
+        if (index == null) return Collections.emptyList();
+        Wallet w = index.wallet;
+        List<Transaction> result = new ArrayList<>();
+        range(index.byDate, start, end).keySet().forEach(key -> w.getTransaction(key.id()).ifPresent(result::add));
+        return result;
+    }
+
+    @Override
+    public boolean removeTransaction(UUID walletId, UUID transactionID) {
+        WalletIndex index = wallets.get(walletId);
+        if (index == null) return false;
+        synchronized (index) {
+            Optional<Transaction> t = index.wallet.getTransaction(transactionID);
+            if (t.isEmpty()) return false;
+            index.wallet.rollbackTransaction(t.get());
+            deindex(index, TransactionKey.of(t.get()));
+            return true;
+        }
+    }
+
+    private void applyChanges(WalletIndex index, WalletDelta delta) {
+        // A transaction's date is fixed once a wallet holds it, so its key can always be rebuilt from it.
+        for (Transaction t : delta.getRemoved()) {
+            deindex(index, TransactionKey.of(t));
+        }
+        for (Transaction t : delta.getAdded()) {
+            index(index, TransactionKey.of(t));
+        }
+    }
+
+    private void index(WalletIndex index, TransactionKey key) {
+        if (key.isDated()) {
+            index.byDate.put(key, index.walletId);
+            transactionsByDate.put(key, index.walletId);
+        } else {
+            index.undated.add(key.id());
+        }
+    }
+
+    private void deindex(WalletIndex index, TransactionKey key) {
+        if (key.isDated()) {
+            index.byDate.remove(key);
+            transactionsByDate.remove(key);
+        } else {
+            index.undated.remove(key.id());
+        }
+    }
+
+    private static ConcurrentNavigableMap<TransactionKey, UUID> range(
+            ConcurrentNavigableMap<TransactionKey, UUID> map,
+            LocalDateTime start,
+            LocalDateTime end) {
+        if (start != null && end != null) {
+            return map.subMap(TransactionKey.lowerBound(start), true, TransactionKey.upperBound(end), true);
+        }
+        if (start != null) return map.tailMap(TransactionKey.lowerBound(start), true);
+        if (end != null) return map.headMap(TransactionKey.upperBound(end), true);
+        return map;
+    }
+
+    private static final class WalletIndex {
+        private final UUID walletId;
+        private volatile Wallet wallet;
+        private final ConcurrentNavigableMap<TransactionKey, UUID> byDate = new ConcurrentSkipListMap<>();
+        private final Set<UUID> undated = ConcurrentHashMap.newKeySet();
+
+        private WalletIndex(UUID walletId) {
+            this.walletId = walletId;
+        }
+    }
+}
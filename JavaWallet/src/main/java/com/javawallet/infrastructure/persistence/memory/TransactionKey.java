@@ -0,0 +1,39 @@
+package com.javawallet.infrastructure.persistence.memory;
+
+import com.javawallet.domain.model.Transaction;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+// (date, id) as primitives, so an index entry does not keep the transaction's date or id objects alive.
+record TransactionKey(boolean isDated, long second, int nano, long idHigh, long idLow) implements Comparable<TransactionKey> {
+    static TransactionKey of(Transaction t) {
+        LocalDateTime date = t.getDate();
+        UUID id = t.getId();
+        if (date == null) return new TransactionKey(false, 0, 0, id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return new TransactionKey(true, date.toEpochSecond(ZoneOffset.UTC), date.getNano(), id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    static TransactionKey lowerBound(LocalDateTime date) {
+        return new TransactionKey(true, date.toEpochSecond(ZoneOffset.UTC), date.getNano(), Long.MIN_VALUE, Long.MIN_VALUE);
+    }
+
+    static TransactionKey upperBound(LocalDateTime date) {
+        return new TransactionKey(true, date.toEpochSecond(ZoneOffset.UTC), date.getNano(), Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    UUID id() {
+        return new UUID(idHigh, idLow);
+    }
+
+    @Override
+    public int compareTo(TransactionKey o) {
+        int bySecond = Long.compare(this.second, o.second);
+        if (bySecond != 0) return bySecond;
+        int byNano = Integer.compare(this.nano, o.nano);
+        if (byNano != 0) return byNano;
+        int byHigh = Long.compare(this.idHigh, o.idHigh);
+        return byHigh != 0 ? byHigh : Long.compare(this.idLow, o.idLow);
+    }
+}